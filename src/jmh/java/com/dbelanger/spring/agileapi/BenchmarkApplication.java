@@ -0,0 +1,103 @@
+package com.dbelanger.spring.agileapi;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.UserRepository;
+import com.dbelanger.spring.agileapi.security.JwtService;
+import com.dbelanger.spring.agileapi.service.OrganizationService;
+import com.dbelanger.spring.agileapi.service.ProjectService;
+
+/// The application as the HTTP benchmarks drive it: booted on a random port with the test profile (a fresh in-memory
+/// database), one organization with a user and the project "Apollo", and requests sent with that user's token.
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private final String token;
+    private final User user;
+    private final Project project;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) throws Exception {
+        this.context = context;
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        Organization organization = bean(OrganizationService.class).createOrganization("Benchmark", "benchmark");
+        this.user = bean(UserRepository.class).save(
+                new User(0, "bench@example.com", "hash", "Benchmark User", organization));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        try {
+            this.project = bean(ProjectService.class).createNewProject(new Project(0, "Apollo", null, organization), user);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        this.token = bean(JwtService.class).generateToken(user);
+    }
+
+    /// Starts the application with `properties` (`key=value`) on top of the test profile.
+    public static BenchmarkApplication start(String... properties) throws Exception {
+        String[] defaults = {"server.port=0", "spring.shell.interactive.enabled=false", "logging.level.root=WARN"};
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AgileapiApplication.class)
+                .profiles("test")
+                .properties(Stream.concat(Stream.of(defaults), Stream.of(properties)).toArray(String[]::new))
+                .run();
+        return new BenchmarkApplication(context);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public User user() {
+        return user;
+    }
+
+    public Project project() {
+        return project;
+    }
+
+    public HttpResponse<String> get(String path) throws Exception {
+        return send(request(path).GET());
+    }
+
+    public HttpResponse<String> post(String path, String json) throws Exception {
+        return send(request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    /// Fails the trial on anything but a 2xx, so a broken setup can't pass for a fast one.
+    public static HttpResponse<String> expectSuccess(HttpResponse<String> response) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,94 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dbelanger.spring.agileapi.BenchmarkApplication;
+import com.dbelanger.spring.agileapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/// Time for one client to create `TaskService.MAX_BULK_SIZE` tasks over HTTP: one `POST .../tasks` per task, or a
+/// single `POST .../tasks/bulk`. Every invocation fills a new sprint, so task titles never collide.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TaskCreationBenchmark {
+
+    private BenchmarkApplication app;
+    private ObjectMapper objectMapper;
+    private List<String> singleBodies;
+    private String bulkBody;
+    private int sprints;
+    private String tasksPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        app = BenchmarkApplication.start();
+        objectMapper = app.bean(ObjectMapper.class);
+        List<Map<String, Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < TaskService.MAX_BULK_SIZE; i++) {
+            tasks.add(Map.of("title", "Task " + i, "priority", 3, "assigneeId", app.user().getId()));
+        }
+        singleBodies = new ArrayList<>();
+        for (Map<String, Object> task : tasks) {
+            singleBodies.add(objectMapper.writeValueAsString(task));
+        }
+        bulkBody = objectMapper.writeValueAsString(tasks);
+    }
+
+    @Setup(Level.Invocation)
+    public void newSprint() throws Exception {
+        String sprint = objectMapper.writeValueAsString(Map.of(
+                "name", "Sprint " + ++sprints,
+                "startDate", LocalDate.now().toString(),
+                "endDate", LocalDate.now().plusWeeks(2).toString()));
+        String created = BenchmarkApplication.expectSuccess(
+                app.post("/api/v1/projects/" + app.project().getId() + "/sprints", sprint)).body();
+        tasksPath = "/api/v1/sprints/" + objectMapper.readTree(created).get("id").asLong() + "/tasks";
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public int singlePosts() throws Exception {
+        int created = 0;
+        for (String body : singleBodies) {
+            BenchmarkApplication.expectSuccess(app.post(tasksPath, body));
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public int bulkPost() throws Exception {
+        String response = BenchmarkApplication.expectSuccess(app.post(tasksPath + "/bulk", bulkBody)).body();
+        // The batch reports rejected items in a 200, so check that it really created them all.
+        int created = objectMapper.readTree(response).get("created").asInt();
+        if (created != singleBodies.size()) {
+            throw new IllegalStateException("Bulk POST created " + created + " of " + singleBodies.size() + " tasks");
+        }
+        return created;
+    }
+}
@@ -0,0 +1,55 @@
+package com.dbelanger.spring.agileapi.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dbelanger.spring.agileapi.BenchmarkApplication;
+
+/// Authenticated requests per second, end to end over HTTP. With `statelessPrincipal=false` the filter loads the
+/// user with `findById` on every request; with `true` it builds the principal from the claims and checks the token
+/// epoch through `UserPrincipalCache`.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AuthenticatedRequestBenchmark {
+
+    @Param({"false", "true"})
+    public boolean statelessPrincipal;
+
+    private BenchmarkApplication app;
+    private String projectPath;
+
+    @Setup
+    public void setUp() throws Exception {
+        app = BenchmarkApplication.start("jwt.stateless-principal=" + statelessPrincipal);
+        projectPath = "/api/v1/projects/" + app.project().getId();
+        BenchmarkApplication.expectSuccess(app.get(projectPath));
+    }
+
+    @TearDown
+    public void tearDown() {
+        app.close();
+    }
+
+    @Benchmark
+    public int getProject() throws Exception {
+        return app.get(projectPath).statusCode();
+    }
+}
@@ -0,0 +1,72 @@
+package com.dbelanger.spring.agileapi.security;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.User;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/// Cost of verifying one request's bearer token. `newParserPerCall` is how `JwtService` used to verify: a parser
+/// built and the HMAC checked on every call. `reusedParser` keeps one parser but still checks the signature, and
+/// `cachedVerification` is `validateTokenAndGetClaims` as it runs now, for a client that reuses its token.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256-signing";
+
+    private JwtService jwtService;
+    private Key key;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 10_000L);
+        jwtService.init();
+
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(key).build();
+        Organization organization = new Organization(7L);
+        token = jwtService.generateToken(new User(42L, "user@example.com", "hash", "Benchmark User", organization));
+    }
+
+    @Benchmark
+    public Claims newParserPerCall() {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims reusedParser() {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedVerification() {
+        return jwtService.validateTokenAndGetClaims(token);
+    }
+}
@@ -1,6 +1,5 @@
 package com.dbelanger.spring.agileapi.auth;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.dbelanger.spring.agileapi.model.Organization;
@@ -15,16 +14,16 @@ public class AuthService {
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
     public AuthService(UserRepository userRepository,
                        OrganizationRepository organizationRepository,
                        JwtService jwtService,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordHasher passwordHasher) {
         this.userRepository = userRepository;
         this.organizationRepository = organizationRepository;
         this.jwtService = jwtService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
     public User register(String email, String password, String name, String organizationName, String organizationSlug) {
@@ -52,7 +51,7 @@ public class AuthService {
         // Create the user and link to their new organization
         User user = new User();
         user.setEmail(email);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHasher.encode(password));
         user.setName(name);
         user.setOrganization(organization);
 
@@ -63,7 +62,7 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid email or password."));
 
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+        if (!passwordHasher.matches(password, user.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid email or password.");
         }
 
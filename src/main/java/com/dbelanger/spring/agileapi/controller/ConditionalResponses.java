@@ -0,0 +1,25 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/// Conditional GETs on the ETags from `ResourceVersions`.
+final class ConditionalResponses {
+
+    // Clients may keep a private copy but must revalidate it before every use.
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalResponses() {
+    }
+
+    /// True when the client's copy is still current: the response is then a bodyless `304 Not Modified` and the
+    /// handler returns null. Otherwise the ETag is already on the response and the body is produced as usual.
+    static boolean notModified(ServletWebRequest request, String etag) {
+        if (request.checkNotModified(etag)) {
+            return true;
+        }
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+
+/// Renders a `CursorPage` as a plain JSON array plus an RFC 8288 `Link: <...>; rel="next"` header.
+final class CursorResponses {
+
+    private CursorResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        return withNextLink(page.nextCursor()).body(page.items());
+    }
+
+    /// Same response for a page already serialized to a JSON array.
+    static ResponseEntity<byte[]> okJson(byte[] json, String nextCursor) {
+        return withNextLink(nextCursor).contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+
+    private static ResponseEntity.BodyBuilder withNextLink(String nextCursor) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", nextCursor)
+                    .build()
+                    .toUriString();
+            response.header(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return response;
+    }
+}
@@ -0,0 +1,119 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.nio.file.AccessDeniedException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.exception.IdempotencyKeyReusedException;
+import com.dbelanger.spring.agileapi.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/// `Idempotency-Key` support for POST handlers. The first request with a key runs and its response is kept for
+/// `idempotency.ttl-seconds`; a retry with the same key and the same request gets that response again without
+/// running, and a duplicate that arrives while the first is still running waits for it and shares its response.
+/// Keys are per user. Reusing one for a different request (another route or body) is refused.
+/// A request that fails is not kept, so retrying it runs it again.
+@Component
+public class IdempotentRequests {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    /// A handler body that runs at most once per key.
+    @FunctionalInterface
+    public interface Execution<T> {
+        T run() throws AccessDeniedException;
+    }
+
+    private record Key(long userId, String idempotencyKey) {
+    }
+
+    private record Entry(byte[] fingerprint, CompletableFuture<Object> response) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Entry> entries;
+
+    public IdempotentRequests(ObjectMapper objectMapper,
+                              @Value("${idempotency.max-keys:10000}") long maxKeys,
+                              @Value("${idempotency.ttl-seconds:86400}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /// Runs `execution` unless `idempotencyKey` was already used by `user` for the same `route` and `request`,
+    /// in which case the first response is returned. Without a key, `execution` just runs.
+    @SuppressWarnings("unchecked")
+    public <T> T execute(User user, String idempotencyKey, String route, Object request,
+                         Execution<T> execution) throws AccessDeniedException {
+        if (idempotencyKey == null) {
+            return execution.run();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters.");
+        }
+
+        Key key = new Key(user.getId(), idempotencyKey);
+        Entry mine = new Entry(fingerprint(route, request), new CompletableFuture<>());
+        Entry first = entries.asMap().putIfAbsent(key, mine);
+        if (first != null) {
+            if (!Arrays.equals(first.fingerprint(), mine.fingerprint())) {
+                throw new IdempotencyKeyReusedException(HEADER + " was already used for a different request.");
+            }
+            // Same route and request, so the stored response has this handler's type.
+            return (T) await(first.response());
+        }
+
+        try {
+            T response = execution.run();
+            mine.response().complete(response);
+            return response;
+        } catch (Throwable e) {
+            entries.asMap().remove(key, mine);
+            mine.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    // Duplicates that waited on a failed first run fail the same way.
+    private static Object await(CompletableFuture<Object> response) throws AccessDeniedException {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AccessDeniedException denied) {
+                throw denied;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] fingerprint(String route, Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(List.of(route, request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint request.", e);
+        }
+    }
+}
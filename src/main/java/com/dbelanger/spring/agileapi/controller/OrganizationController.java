@@ -1,23 +1,29 @@
 package com.dbelanger.spring.agileapi.controller;
 
+import java.nio.file.AccessDeniedException;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dbelanger.spring.agileapi.dto.OrganizationOverviewDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.service.OrganizationService;
+import com.dbelanger.spring.agileapi.service.ProjectService;
 
 @RestController
 @RequestMapping("/api/v1/organizations")
 public class OrganizationController {
 
     private final OrganizationService organizationService;
+    private final ProjectService projectService;
 
-    public OrganizationController(OrganizationService organizationService) {
+    public OrganizationController(OrganizationService organizationService, ProjectService projectService) {
         this.organizationService = organizationService;
+        this.projectService = projectService;
     }
 
     @GetMapping("/me")
@@ -28,4 +34,10 @@ public class OrganizationController {
         Organization full = organizationService.getOrganizationById(org.getId());
         return ResponseEntity.ok(full);
     }
+
+    @GetMapping("/me/overview")
+    public ResponseEntity<OrganizationOverviewDto> getMyOverview(Authentication authentication) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(projectService.getOrganizationOverview(user.getOrganization().getId(), user));
+    }
 }
@@ -3,6 +3,7 @@ package com.dbelanger.spring.agileapi.controller;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -14,13 +15,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
 import com.dbelanger.spring.agileapi.dto.ProjectRequest;
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
+import com.dbelanger.spring.agileapi.dto.PurgeJobDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.service.ProjectService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -30,48 +41,85 @@ import jakarta.validation.Valid;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+    private final IdempotentRequests idempotentRequests;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, ObjectMapper objectMapper, IdempotentRequests idempotentRequests) {
         this.projectService = projectService;
+        this.objectMapper = objectMapper;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @GetMapping
-    public ResponseEntity<List<Project>> listProjects(Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<List<ProjectResponseDto>> listProjects(@RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                                      Authentication authentication,
+                                                      ServletWebRequest request) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
         long orgId = user.getOrganization().getId();
-        return ResponseEntity.ok(projectService.getProjectsByOrganizationId(orgId, user));
+        if (ConditionalResponses.notModified(request, projectService.etagOfProjects(orgId, user))) {
+            return null;
+        }
+        return CursorResponses.ok(projectService.getProjectsByOrganizationId(orgId, user, after, limit));
+    }
+
+    @GetMapping(produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProjects(Authentication authentication) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        long orgId = user.getOrganization().getId();
+        return NdjsonResponses.ok(objectMapper, projectService.streamProjectsByOrganizationId(orgId, user));
     }
 
     @PostMapping
-    public ResponseEntity<Project> createProject(@Valid @RequestBody ProjectRequest req, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<ProjectResponseDto> createProject(@Valid @RequestBody ProjectRequest req,
+                                                            @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey,
+                                                            Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        Project project = new Project();
-        project.setName(req.name);
-        project.setDescription(req.description);
-        project.setOrganization(new Organization(user.getOrganization().getId()));
-        Project saved = projectService.createNewProject(project, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        return idempotentRequests.execute(user, idempotencyKey, "POST /projects", req, () -> {
+            Project project = new Project();
+            project.setName(req.name);
+            project.setDescription(req.description);
+            project.setOrganization(new Organization(user.getOrganization().getId()));
+            Project saved = projectService.createNewProject(project, user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ProjectResponseDto.from(saved));
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Project> getProject(@PathVariable long id, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<ProjectResponseDto> getProject(@PathVariable long id, Authentication authentication,
+                                                         ServletWebRequest request) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        if (ConditionalResponses.notModified(request, projectService.etagOfProject(id, user))) {
+            return null;
+        }
+        return ResponseEntity.ok(ProjectResponseDto.from(projectService.getProjectById(id, user)));
+    }
+
+    @GetMapping("/{id}/velocity")
+    public ResponseEntity<ProjectVelocityDto> getVelocity(@PathVariable long id,
+                                                          @RequestParam(defaultValue = "6") int sprints,
+                                                          Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(projectService.getProjectById(id, user));
+        return ResponseEntity.ok(projectService.getVelocity(id, user, sprints));
     }
 
     @PatchMapping("/{id}")
-    public ResponseEntity<Project> patchProject(@PathVariable long id, @Valid @RequestBody ProjectRequest req, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<ProjectResponseDto> patchProject(@PathVariable long id, @Valid @RequestBody ProjectRequest req,
+                                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                           Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
         Project patch = new Project();
         patch.setName(req.name);
         patch.setDescription(req.description);
-        return ResponseEntity.ok(projectService.updateProjectById(patch, id, user));
+        return ResponseEntity.ok(ProjectResponseDto.from(projectService.updateProjectById(patch, id, user, ifMatch)));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteProject(@PathVariable long id, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<PurgeJobDto> deleteProject(@PathVariable long id,
+                                                     @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                     Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        projectService.deleteProjectById(id, user);
-        return ResponseEntity.noContent().build();
+        PurgeJob job = projectService.deleteProjectById(id, user, ifMatch);
+        return PurgeJobController.accepted(job);
     }
 }
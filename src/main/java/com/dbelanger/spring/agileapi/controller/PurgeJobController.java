@@ -0,0 +1,36 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.net.URI;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dbelanger.spring.agileapi.dto.PurgeJobDto;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.service.PurgeService;
+
+@RestController
+@RequestMapping("/api/v1/purge-jobs")
+public class PurgeJobController {
+
+    private static final String PATH = "/api/v1/purge-jobs/";
+
+    private final PurgeService purgeService;
+
+    public PurgeJobController(PurgeService purgeService) {
+        this.purgeService = purgeService;
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PurgeJobDto> getPurgeJob(@PathVariable long jobId) {
+        return ResponseEntity.ok(PurgeJobDto.from(purgeService.getPurgeJob(jobId)));
+    }
+
+    /// `202 Accepted` for a delete that queued `job`, pointing at its status.
+    static ResponseEntity<PurgeJobDto> accepted(PurgeJob job) {
+        return ResponseEntity.accepted().location(URI.create(PATH + job.getId())).body(PurgeJobDto.from(job));
+    }
+}
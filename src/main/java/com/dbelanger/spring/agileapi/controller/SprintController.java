@@ -3,6 +3,7 @@ package com.dbelanger.spring.agileapi.controller;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -14,9 +15,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.PurgeJobDto;
 import com.dbelanger.spring.agileapi.dto.SprintRequest;
+import com.dbelanger.spring.agileapi.dto.SprintResponseDto;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
 import com.dbelanger.spring.agileapi.model.Sprint;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.service.SprintService;
@@ -29,48 +37,69 @@ import jakarta.validation.Valid;
 public class SprintController {
 
     private final SprintService sprintService;
+    private final IdempotentRequests idempotentRequests;
 
-    public SprintController(SprintService sprintService) {
+    public SprintController(SprintService sprintService, IdempotentRequests idempotentRequests) {
         this.sprintService = sprintService;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @GetMapping("/projects/{projectId}/sprints")
-    public ResponseEntity<List<Sprint>> listSprints(@PathVariable long projectId, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<List<SprintResponseDto>> listSprints(@PathVariable long projectId,
+                                                    @RequestParam(required = false) String after,
+                                                    @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                                    Authentication authentication,
+                                                    ServletWebRequest request) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(sprintService.getSprintsByProjectId(projectId, user));
+        if (ConditionalResponses.notModified(request, sprintService.etagOfSprints(projectId, user))) {
+            return null;
+        }
+        return CursorResponses.ok(sprintService.getSprintsByProjectId(projectId, user, after, limit));
     }
 
     @PostMapping("/projects/{projectId}/sprints")
-    public ResponseEntity<Sprint> createSprint(@PathVariable long projectId, @Valid @RequestBody SprintRequest req, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<SprintResponseDto> createSprint(@PathVariable long projectId, @Valid @RequestBody SprintRequest req,
+                                                          @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey,
+                                                          Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        Sprint sprint = new Sprint();
-        sprint.setName(req.name);
-        sprint.setStartDate(req.startDate != null ? req.startDate.atStartOfDay() : null);
-        sprint.setEndDate(req.endDate != null ? req.endDate.atTime(23, 59, 59) : null);
-        Sprint saved = sprintService.createSprint(sprint, projectId, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        return idempotentRequests.execute(user, idempotencyKey, "POST /projects/" + projectId + "/sprints", req, () -> {
+            Sprint sprint = new Sprint();
+            sprint.setName(req.name);
+            sprint.setStartDate(req.startDate != null ? req.startDate.atStartOfDay() : null);
+            sprint.setEndDate(req.endDate != null ? req.endDate.atTime(23, 59, 59) : null);
+            Sprint saved = sprintService.createSprint(sprint, projectId, user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(SprintResponseDto.from(saved));
+        });
     }
 
     @GetMapping("/sprints/{sprintId}")
-    public ResponseEntity<Sprint> getSprint(@PathVariable long sprintId, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<SprintResponseDto> getSprint(@PathVariable long sprintId, Authentication authentication,
+                                                       ServletWebRequest request) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(sprintService.getSprintById(sprintId, user));
+        if (ConditionalResponses.notModified(request, sprintService.etagOfSprint(sprintId, user))) {
+            return null;
+        }
+        return ResponseEntity.ok(SprintResponseDto.from(sprintService.getSprintById(sprintId, user)));
     }
 
     @PatchMapping("/sprints/{sprintId}")
-    public ResponseEntity<Sprint> patchSprint(@PathVariable long sprintId, @Valid @RequestBody SprintRequest req, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<SprintResponseDto> patchSprint(@PathVariable long sprintId, @Valid @RequestBody SprintRequest req,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                         Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
         Sprint patch = new Sprint();
         patch.setName(req.name);
         patch.setStartDate(req.startDate != null ? req.startDate.atStartOfDay() : null);
         patch.setEndDate(req.endDate != null ? req.endDate.atTime(23, 59, 59) : null);
-        return ResponseEntity.ok(sprintService.updateSprintById(sprintId, patch, user));
+        return ResponseEntity.ok(SprintResponseDto.from(sprintService.updateSprintById(sprintId, patch, user, ifMatch)));
     }
 
     @DeleteMapping("/sprints/{sprintId}")
-    public ResponseEntity<Void> deleteSprint(@PathVariable long sprintId, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<PurgeJobDto> deleteSprint(@PathVariable long sprintId,
+                                                    @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        sprintService.deleteSprintById(sprintId, user);
-        return ResponseEntity.noContent().build();
+        PurgeJob job = sprintService.deleteSprintById(sprintId, user, ifMatch);
+        return PurgeJobController.accepted(job);
     }
 }
@@ -0,0 +1,29 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.dbelanger.spring.agileapi.dto.SyncDto;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.service.SyncService;
+
+@RestController
+@RequestMapping("/api/v1/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public ResponseEntity<SyncDto> sync(@RequestParam(defaultValue = "0") long since, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(syncService.getChangesSince(since, user));
+    }
+}
@@ -3,7 +3,10 @@ package com.dbelanger.spring.agileapi.controller;
 import java.nio.file.AccessDeniedException;
 import java.util.List;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
@@ -14,13 +17,26 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.dbelanger.spring.agileapi.dto.BulkTaskResponseDto;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateResponseDto;
+import com.dbelanger.spring.agileapi.dto.BurndownDto;
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintSummaryDto;
 import com.dbelanger.spring.agileapi.dto.TaskRequest;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
 import com.dbelanger.spring.agileapi.model.Task;
 import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.service.SprintBoardCache;
 import com.dbelanger.spring.agileapi.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -30,44 +46,120 @@ import jakarta.validation.Valid;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final IdempotentRequests idempotentRequests;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, ObjectMapper objectMapper, IdempotentRequests idempotentRequests) {
         this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.idempotentRequests = idempotentRequests;
     }
 
     @GetMapping("/sprints/{sprintId}/tasks")
-    public ResponseEntity<List<Task>> listTasks(@PathVariable long sprintId,
+    public ResponseEntity<byte[]> listTasks(@PathVariable long sprintId,
                                                 @RequestParam(required = false) Task.Status status,
                                                 @RequestParam(required = false) Integer priority,
                                                 @RequestParam(required = false) Long assigneeId,
-                                                Authentication authentication) throws AccessDeniedException {
+                                                Sort sort,
+                                                @RequestParam(required = false) String after,
+                                                @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                                Authentication authentication,
+                                                ServletWebRequest request) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(taskService.getTasksBySprintId(sprintId, user, status, priority, assigneeId));
+        if (ConditionalResponses.notModified(request, taskService.etagOfTasks(sprintId, user))) {
+            return null;
+        }
+        SprintBoardCache.Page page = taskService.getTaskPage(sprintId, user, status, priority, assigneeId, sort, after, limit);
+        return CursorResponses.okJson(page.json(), page.nextCursor());
+    }
+
+    @GetMapping(value = "/sprints/{sprintId}/tasks", produces = NdjsonResponses.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTasks(@PathVariable long sprintId,
+                                                             @RequestParam(required = false) Task.Status status,
+                                                             @RequestParam(required = false) Integer priority,
+                                                             @RequestParam(required = false) Long assigneeId,
+                                                             Authentication authentication) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        return NdjsonResponses.ok(objectMapper, taskService.streamTasksBySprintId(sprintId, user, status, priority, assigneeId));
     }
 
     @PostMapping("/sprints/{sprintId}/tasks")
-    public ResponseEntity<Task> createTask(@PathVariable long sprintId,
+    public ResponseEntity<TaskResponseDto> createTask(@PathVariable long sprintId,
                                            @Valid @RequestBody TaskRequest req,
+                                           @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey,
                                            Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        Task task = new Task();
-        task.setTitle(req.title);
-        task.setDescription(req.description);
-        if (req.status != null) task.setStatus(req.status);
-        if (req.priority != null) task.setPriority(req.priority);
-        Task saved = taskService.createTask(task, sprintId, req.assigneeId, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+        return idempotentRequests.execute(user, idempotencyKey, "POST /sprints/" + sprintId + "/tasks", req, () -> {
+            Task task = new Task();
+            task.setTitle(req.title);
+            task.setDescription(req.description);
+            if (req.status != null) task.setStatus(req.status);
+            if (req.priority != null) task.setPriority(req.priority);
+            Task saved = taskService.createTask(task, sprintId, req.assigneeId, user);
+            return ResponseEntity.status(HttpStatus.CREATED).body(TaskResponseDto.from(saved));
+        });
+    }
+
+    /// Items are validated individually; the response reports each one by index instead of failing the whole batch.
+    @PostMapping("/sprints/{sprintId}/tasks/bulk")
+    public ResponseEntity<BulkTaskResponseDto> createTasks(@PathVariable long sprintId,
+                                                           @RequestBody List<TaskRequest> reqs,
+                                                           @RequestHeader(name = IdempotentRequests.HEADER, required = false) String idempotencyKey,
+                                                           Authentication authentication) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        return idempotentRequests.execute(user, idempotencyKey, "POST /sprints/" + sprintId + "/tasks/bulk", reqs,
+                () -> ResponseEntity.ok(new BulkTaskResponseDto(taskService.createTasks(sprintId, reqs, user))));
+    }
+
+    @PatchMapping("/sprints/{sprintId}/tasks")
+    public ResponseEntity<BulkTaskUpdateResponseDto> patchTasks(@PathVariable long sprintId,
+                                                                @Valid @RequestBody BulkTaskUpdateRequest req,
+                                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                Authentication authentication) throws AccessDeniedException {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(new BulkTaskUpdateResponseDto(taskService.updateTasks(sprintId, req, user, ifMatch)));
+    }
+
+    /// Counts for dashboards, instead of downloading the whole task list; shares the task list's ETag.
+    @GetMapping("/sprints/{sprintId}/summary")
+    public ResponseEntity<SprintSummaryDto> getSprintSummary(@PathVariable long sprintId, Authentication authentication,
+                                                             ServletWebRequest request) {
+        User user = (User) authentication.getPrincipal();
+        if (ConditionalResponses.notModified(request, taskService.etagOfTasks(sprintId, user))) {
+            return null;
+        }
+        return ResponseEntity.ok(taskService.getSprintSummary(sprintId, user));
+    }
+
+    /// Task changes of the sprint as Server-Sent Events, instead of polling the task list. Clients subscribe first,
+    /// then load the list, and load it again on `resync`.
+    @GetMapping(value = "/sprints/{sprintId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@PathVariable long sprintId, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return taskService.subscribeToChanges(sprintId, user);
+    }
+
+    /// Daily open-task counts for burndown charts; reflects writes once the event log has flushed them.
+    @GetMapping("/sprints/{sprintId}/burndown")
+    public ResponseEntity<BurndownDto> getBurndown(@PathVariable long sprintId, Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        return ResponseEntity.ok(taskService.getBurndown(sprintId, user));
     }
 
     @GetMapping("/tasks/{taskId}")
-    public ResponseEntity<Task> getTask(@PathVariable long taskId, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<TaskResponseDto> getTask(@PathVariable long taskId, Authentication authentication,
+                                                   ServletWebRequest request) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        return ResponseEntity.ok(taskService.getTaskById(taskId, user));
+        if (ConditionalResponses.notModified(request, taskService.etagOfTask(taskId, user))) {
+            return null;
+        }
+        return ResponseEntity.ok(TaskResponseDto.from(taskService.getTaskById(taskId, user)));
     }
 
     @PatchMapping("/tasks/{taskId}")
-    public ResponseEntity<Task> patchTask(@PathVariable long taskId,
+    public ResponseEntity<TaskResponseDto> patchTask(@PathVariable long taskId,
                                           @Valid @RequestBody TaskRequest req,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                           Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
         Task patch = new Task();
@@ -80,13 +172,15 @@ public class TaskController {
             assignee.setId(req.assigneeId);
             patch.setAssignee(assignee);
         }
-        return ResponseEntity.ok(taskService.updateTaskById(taskId, patch, user));
+        return ResponseEntity.ok(TaskResponseDto.from(taskService.updateTaskById(taskId, patch, user, ifMatch)));
     }
 
     @DeleteMapping("/tasks/{taskId}")
-    public ResponseEntity<Void> deleteTask(@PathVariable long taskId, Authentication authentication) throws AccessDeniedException {
+    public ResponseEntity<Void> deleteTask(@PathVariable long taskId,
+                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           Authentication authentication) throws AccessDeniedException {
         User user = (User) authentication.getPrincipal();
-        taskService.deleteTaskById(taskId, user);
+        taskService.deleteTaskById(taskId, user, ifMatch);
         return ResponseEntity.noContent().build();
     }
 }
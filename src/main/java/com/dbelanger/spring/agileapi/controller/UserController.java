@@ -1,6 +1,7 @@
 package com.dbelanger.spring.agileapi.controller;
 
 import java.nio.file.AccessDeniedException;
+import java.util.List;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -10,8 +11,10 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
 import com.dbelanger.spring.agileapi.dto.UserResponseDto;
 import com.dbelanger.spring.agileapi.dto.UserUpdateRequest;
 import com.dbelanger.spring.agileapi.model.User;
@@ -27,6 +30,15 @@ public class UserController {
         this.userService = userService;
     }
 
+    @GetMapping
+    public ResponseEntity<List<UserResponseDto>> listUsers(@RequestParam(required = false) String after,
+                                                           @RequestParam(defaultValue = "" + CursorPage.DEFAULT_LIMIT) int limit,
+                                                           Authentication authentication) throws AccessDeniedException {
+        User requester = (User) authentication.getPrincipal();
+        long orgId = requester.getOrganization().getId();
+        return CursorResponses.ok(userService.getUsersByOrganizationId(orgId, requester, after, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserResponseDto> getUser(@PathVariable long id, Authentication authentication)
             throws AccessDeniedException {
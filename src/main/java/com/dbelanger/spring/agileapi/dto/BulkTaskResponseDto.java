@@ -0,0 +1,15 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.List;
+
+public class BulkTaskResponseDto {
+    public int created;
+    public int failed;
+    public List<BulkTaskResultDto> results;
+
+    public BulkTaskResponseDto(List<BulkTaskResultDto> results) {
+        this.results = results;
+        this.created = (int) results.stream().filter(r -> r.created).count();
+        this.failed = results.size() - this.created;
+    }
+}
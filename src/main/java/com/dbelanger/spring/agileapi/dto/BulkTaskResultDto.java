@@ -0,0 +1,24 @@
+package com.dbelanger.spring.agileapi.dto;
+
+/// Outcome of one element of a bulk task request, identified by its position in the request array.
+public class BulkTaskResultDto {
+    public int index;
+    public boolean created;
+    public TaskResponseDto task;
+    public String error;
+
+    public BulkTaskResultDto(int index, boolean created, TaskResponseDto task, String error) {
+        this.index = index;
+        this.created = created;
+        this.task = task;
+        this.error = error;
+    }
+
+    public static BulkTaskResultDto created(int index, TaskResponseDto task) {
+        return new BulkTaskResultDto(index, true, task, null);
+    }
+
+    public static BulkTaskResultDto failed(int index, String error) {
+        return new BulkTaskResultDto(index, false, null, error);
+    }
+}
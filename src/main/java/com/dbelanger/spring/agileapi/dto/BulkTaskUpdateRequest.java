@@ -0,0 +1,44 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.List;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+/// Selects tasks in a sprint with `filter` (all criteria combined; omitted criteria match everything)
+/// and applies the non-null fields of `set` to each of them.
+public class BulkTaskUpdateRequest {
+
+    @Valid
+    public Filter filter;
+
+    @Valid
+    @NotNull(message = "Changes are required")
+    public Changes set;
+
+    public static class Filter {
+        @Size(max = 500, message = "At most 500 task ids can be listed")
+        public List<Long> ids;
+
+        public Task.Status status;
+
+        public Integer priority;
+
+        public Long assigneeId;
+    }
+
+    public static class Changes {
+        public Task.Status status;
+
+        @Min(value = 1, message = "Priority must be between 1 and 5")
+        @Max(value = 5, message = "Priority must be between 1 and 5")
+        public Integer priority;
+
+        public Long assigneeId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.dbelanger.spring.agileapi.dto;
+
+public class BulkTaskUpdateResponseDto {
+    public int updated;
+
+    public BulkTaskUpdateResponseDto(int updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,50 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.SprintBurndownDay;
+
+/// Open (not DONE) tasks of a sprint at the end of each day, one point per day from the sprint's start to its end,
+/// or to today while it is still running.
+public class BurndownDto {
+    public long sprintId;
+    public List<Point> days = new ArrayList<>();
+
+    public static class Point {
+        public LocalDate date;
+        public long remaining;
+
+        public Point(LocalDate date, long remaining) {
+            this.date = date;
+            this.remaining = remaining;
+        }
+    }
+
+    public BurndownDto(long sprintId) {
+        this.sprintId = sprintId;
+    }
+
+    /// Running sum of the day buckets, ordered by date; buckets from before the start count toward its first day.
+    public static BurndownDto from(Sprint sprint, List<SprintBurndownDay> buckets, LocalDate today) {
+        BurndownDto burndown = new BurndownDto(sprint.getId());
+        LocalDate start = sprint.getStartDate() != null ? sprint.getStartDate().toLocalDate() : today;
+        LocalDate end = sprint.getEndDate() != null && sprint.getEndDate().toLocalDate().isBefore(today)
+                ? sprint.getEndDate().toLocalDate() : today;
+
+        Iterator<SprintBurndownDay> bucket = buckets.iterator();
+        SprintBurndownDay next = bucket.hasNext() ? bucket.next() : null;
+        long remaining = 0;
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            while (next != null && !next.getBucketDate().isAfter(day)) {
+                remaining += next.getRemainingDelta();
+                next = bucket.hasNext() ? bucket.next() : null;
+            }
+            burndown.days.add(new Point(day, remaining));
+        }
+        return burndown;
+    }
+}
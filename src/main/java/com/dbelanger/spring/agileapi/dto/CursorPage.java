@@ -0,0 +1,15 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/// One page of a keyset-paginated listing. `nextCursor` is `null` on the last page.
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,57 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dbelanger.spring.agileapi.model.ProjectStatusCount;
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Task counts by status for every project of an organization, and the organization's totals. Every status is
+/// listed, with 0 when no task has it.
+public class OrganizationOverviewDto {
+    public long organizationId;
+    public long total;
+    public Map<Task.Status, Long> byStatus = emptyCounts();
+    public List<ProjectCounts> projects = new ArrayList<>();
+
+    public static class ProjectCounts {
+        public long projectId;
+        public long total;
+        public Map<Task.Status, Long> byStatus = emptyCounts();
+
+        public ProjectCounts(long projectId) {
+            this.projectId = projectId;
+        }
+    }
+
+    public OrganizationOverviewDto(long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    /// Folds the counter rows, ordered by project, into per-project counts and their sums.
+    public static OrganizationOverviewDto from(long organizationId, List<ProjectStatusCount> counts) {
+        OrganizationOverviewDto overview = new OrganizationOverviewDto(organizationId);
+        ProjectCounts project = null;
+        for (ProjectStatusCount count : counts) {
+            if (project == null || project.projectId != count.getProjectId()) {
+                project = new ProjectCounts(count.getProjectId());
+                overview.projects.add(project);
+            }
+            project.total += count.getTaskCount();
+            project.byStatus.merge(count.getStatus(), count.getTaskCount(), Long::sum);
+            overview.total += count.getTaskCount();
+            overview.byStatus.merge(count.getStatus(), count.getTaskCount(), Long::sum);
+        }
+        return overview;
+    }
+
+    private static Map<Task.Status, Long> emptyCounts() {
+        Map<Task.Status, Long> counts = new LinkedHashMap<>();
+        for (Task.Status status : Task.Status.values()) {
+            counts.put(status, 0L);
+        }
+        return counts;
+    }
+}
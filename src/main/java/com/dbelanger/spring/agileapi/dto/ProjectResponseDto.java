@@ -0,0 +1,22 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import com.dbelanger.spring.agileapi.model.Project;
+
+public class ProjectResponseDto {
+    public long id;
+    public String name;
+    public String description;
+    public Long organizationId;
+
+    public ProjectResponseDto(long id, String name, String description, Long organizationId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.organizationId = organizationId;
+    }
+
+    public static ProjectResponseDto from(Project project) {
+        return new ProjectResponseDto(project.getId(), project.getName(), project.getDescription(),
+                project.getOrganization() != null ? project.getOrganization().getId() : null);
+    }
+}
@@ -0,0 +1,28 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// Completed tasks of a project's most recent started sprints, oldest first, and their average over the sprints
+/// that have ended (`null` when none has).
+public class ProjectVelocityDto {
+    public long projectId;
+    public Double averageCompletedTasks;
+    public List<SprintVelocityDto> sprints = new ArrayList<>();
+
+    public ProjectVelocityDto(long projectId) {
+        this.projectId = projectId;
+    }
+
+    /// `newestFirst` as the query returns it; the response lists them oldest first.
+    public static ProjectVelocityDto from(long projectId, List<SprintVelocityDto> newestFirst) {
+        ProjectVelocityDto velocity = new ProjectVelocityDto(projectId);
+        velocity.sprints.addAll(newestFirst.reversed());
+        velocity.averageCompletedTasks = velocity.sprints.stream()
+                .filter(sprint -> sprint.frozen)
+                .mapToLong(sprint -> sprint.completedTasks)
+                .average()
+                .stream().boxed().findFirst().orElse(null);
+        return velocity;
+    }
+}
@@ -0,0 +1,41 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.time.LocalDateTime;
+
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+
+/// Progress of the background removal of a deleted project or sprint. `error` holds why the last attempt failed,
+/// if it did; the job is retried at `nextAttemptAt` until it is `DONE`, or `FAILED` once it has failed too often.
+public class PurgeJobDto {
+    public long id;
+    public PurgeJob.Target target;
+    public long targetId;
+    public PurgeJob.Status status;
+    public long sprintsTotal;
+    public long sprintsDeleted;
+    public long tasksTotal;
+    public long tasksDeleted;
+    public LocalDateTime createdAt;
+    public LocalDateTime updatedAt;
+    public int attempts;
+    public LocalDateTime nextAttemptAt;
+    public String error;
+
+    public static PurgeJobDto from(PurgeJob job) {
+        PurgeJobDto dto = new PurgeJobDto();
+        dto.id = job.getId();
+        dto.target = job.getTarget();
+        dto.targetId = job.getTargetId();
+        dto.status = job.getStatus();
+        dto.sprintsTotal = job.getSprintsTotal();
+        dto.sprintsDeleted = job.getSprintsDeleted();
+        dto.tasksTotal = job.getTasksTotal();
+        dto.tasksDeleted = job.getTasksDeleted();
+        dto.createdAt = job.getCreatedAt();
+        dto.updatedAt = job.getUpdatedAt();
+        dto.attempts = job.getAttempts();
+        dto.nextAttemptAt = job.getNextAttemptAt();
+        dto.error = job.getError();
+        return dto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.time.LocalDateTime;
+
+import com.dbelanger.spring.agileapi.model.Sprint;
+
+public class SprintResponseDto {
+    public long id;
+    public String name;
+    public LocalDateTime startDate;
+    public LocalDateTime endDate;
+    public Long projectId;
+
+    public SprintResponseDto(long id, String name, LocalDateTime startDate, LocalDateTime endDate, Long projectId) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.projectId = projectId;
+    }
+
+    public static SprintResponseDto from(Sprint sprint) {
+        return new SprintResponseDto(sprint.getId(), sprint.getName(), sprint.getStartDate(), sprint.getEndDate(),
+                sprint.getProject() != null ? sprint.getProject().getId() : null);
+    }
+}
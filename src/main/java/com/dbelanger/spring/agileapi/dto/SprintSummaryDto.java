@@ -0,0 +1,42 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Task counts of a sprint by status, by priority and by assignee. Every status and priority is listed, with 0 when
+/// no task has it; assignees are listed by id, only when they have tasks in the sprint.
+public class SprintSummaryDto {
+    public long sprintId;
+    public long total;
+    public Map<Task.Status, Long> byStatus = new LinkedHashMap<>();
+    public Map<Integer, Long> byPriority = new LinkedHashMap<>();
+    public Map<Long, Long> byAssignee = new LinkedHashMap<>();
+
+    public SprintSummaryDto(long sprintId) {
+        this.sprintId = sprintId;
+    }
+
+    /// Folds the grouped rows into the three breakdowns.
+    public static SprintSummaryDto from(long sprintId, List<TaskGroupCountDto> groups) {
+        SprintSummaryDto summary = new SprintSummaryDto(sprintId);
+        for (Task.Status status : Task.Status.values()) {
+            summary.byStatus.put(status, 0L);
+        }
+        for (int priority = 1; priority <= 5; priority++) {
+            summary.byPriority.put(priority, 0L);
+        }
+        Map<Long, Long> byAssignee = new TreeMap<>();
+        for (TaskGroupCountDto group : groups) {
+            summary.total += group.count;
+            summary.byStatus.merge(group.status, group.count, Long::sum);
+            summary.byPriority.merge(group.priority, group.count, Long::sum);
+            byAssignee.merge(group.assigneeId, group.count, Long::sum);
+        }
+        summary.byAssignee.putAll(byAssignee);
+        return summary;
+    }
+}
@@ -0,0 +1,24 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.time.LocalDateTime;
+
+/// Completed tasks of one sprint. `frozen` sprints have ended and report the count taken when they did;
+/// the others report the current count.
+public class SprintVelocityDto {
+    public long sprintId;
+    public String name;
+    public LocalDateTime startDate;
+    public LocalDateTime endDate;
+    public long completedTasks;
+    public boolean frozen;
+
+    public SprintVelocityDto(long sprintId, String name, LocalDateTime startDate, LocalDateTime endDate,
+                             Long frozenCompletedTasks) {
+        this.sprintId = sprintId;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.frozen = frozenCompletedTasks != null;
+        this.completedTasks = frozen ? frozenCompletedTasks : 0;
+    }
+}
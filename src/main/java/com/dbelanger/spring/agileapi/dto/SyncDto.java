@@ -0,0 +1,37 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dbelanger.spring.agileapi.model.Tombstone;
+
+/// An organization's projects, sprints and tasks written since a client's last sync, and the ones deleted.
+/// `version` is the value to send as `since` next time. When `full` is set the lists hold everything that exists
+/// and nothing is listed as deleted, so the client replaces its copy instead of applying the changes.
+public class SyncDto {
+    public long version;
+    public boolean full;
+    public List<ProjectResponseDto> projects = new ArrayList<>();
+    public List<SprintResponseDto> sprints = new ArrayList<>();
+    public List<TaskResponseDto> tasks = new ArrayList<>();
+    public List<Deleted> deleted = new ArrayList<>();
+
+    public static class Deleted {
+        public Tombstone.Type type;
+        public long id;
+
+        public Deleted(Tombstone.Type type, long id) {
+            this.type = type;
+            this.id = id;
+        }
+
+        public static Deleted from(Tombstone tombstone) {
+            return new Deleted(tombstone.getType(), tombstone.getEntityId());
+        }
+    }
+
+    public SyncDto(long version, boolean full) {
+        this.version = version;
+        this.full = full;
+    }
+}
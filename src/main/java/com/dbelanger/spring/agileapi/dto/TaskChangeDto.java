@@ -0,0 +1,12 @@
+package com.dbelanger.spring.agileapi.dto;
+
+/// Data of a sprint change feed event: the task as it is now, or only its id once it has been deleted.
+public class TaskChangeDto {
+    public long taskId;
+    public TaskResponseDto task;
+
+    public TaskChangeDto(long taskId, TaskResponseDto task) {
+        this.taskId = taskId;
+        this.task = task;
+    }
+}
@@ -0,0 +1,18 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Number of a sprint's tasks sharing one status, priority and assignee; a row of the sprint summary query.
+public class TaskGroupCountDto {
+    public Task.Status status;
+    public int priority;
+    public Long assigneeId;
+    public long count;
+
+    public TaskGroupCountDto(Task.Status status, int priority, Long assigneeId, long count) {
+        this.status = status;
+        this.priority = priority;
+        this.assigneeId = assigneeId;
+        this.count = count;
+    }
+}
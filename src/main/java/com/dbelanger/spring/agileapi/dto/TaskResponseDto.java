@@ -0,0 +1,33 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Flat view of a `Task`. Parents are referenced by id; reading the id of a lazy proxy does not initialize it,
+/// so mapping a page of tasks never triggers per-row SELECTs.
+public class TaskResponseDto {
+    public long id;
+    public String title;
+    public String description;
+    public Task.Status status;
+    public int priority;
+    public Long assigneeId;
+    public Long sprintId;
+
+    public TaskResponseDto(long id, String title, String description, Task.Status status, int priority,
+                           Long assigneeId, Long sprintId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.assigneeId = assigneeId;
+        this.sprintId = sprintId;
+    }
+
+    public static TaskResponseDto from(Task task) {
+        return new TaskResponseDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+                task.getPriority(),
+                task.getAssignee() != null ? task.getAssignee().getId() : null,
+                task.getSprint() != null ? task.getSprint().getId() : null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.dbelanger.spring.agileapi.dto;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// The fields of a task that the bulk update can change, as they were before it ran.
+public class TaskStateDto {
+    public long id;
+    public Task.Status status;
+    public int priority;
+    public Long assigneeId;
+
+    public TaskStateDto(long id, Task.Status status, int priority, Long assigneeId) {
+        this.id = id;
+        this.status = status;
+        this.priority = priority;
+        this.assigneeId = assigneeId;
+    }
+}
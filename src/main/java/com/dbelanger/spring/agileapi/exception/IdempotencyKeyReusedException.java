@@ -0,0 +1,9 @@
+package com.dbelanger.spring.agileapi.exception;
+
+/// An `Idempotency-Key` sent again with a different request; answered with `422 Unprocessable Entity`.
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dbelanger.spring.agileapi.exception;
+
+/// A request turned away because a bounded resource is full; answered with `503 Service Unavailable` and a
+/// `Retry-After` of `retryAfterSeconds`, which the thrower chooses for its own resource.
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public OverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
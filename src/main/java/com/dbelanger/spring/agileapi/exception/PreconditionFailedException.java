@@ -0,0 +1,9 @@
+package com.dbelanger.spring.agileapi.exception;
+
+/// A conditional write whose `If-Match` no longer matches the resource; answered with `412 Precondition Failed`.
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.dbelanger.spring.agileapi.model;
+
+/// An entity stamped with the change sequence value of the transaction that last wrote it; see `ChangeStamper`.
+public interface ChangeTracked {
+
+    long getChangeSeq();
+
+    void setChangeSeq(long changeSeq);
+}
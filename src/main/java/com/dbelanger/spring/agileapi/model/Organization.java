@@ -11,6 +11,7 @@
 /// @name: String name for the organization, in the format of "Example Company".
 /// @createdAt: LocalDateTime a datetime object for when the organization was originally created.
 /// @slug: String slug representation of the organization's name, in the format of "example-company":
+/// @syncHorizon: long the highest change sequence value among the organization's compacted tombstones; not serialized.
 /// Author: David Belanger
 /// Created: October 3, 2025
 /// Last Updated: October 3, 2025
@@ -19,8 +20,10 @@ package com.dbelanger.spring.agileapi.model;
 
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -28,7 +31,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organization")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Organization {
 
@@ -45,6 +53,11 @@ public class Organization {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Only raised by tombstone compaction's bulk update; see Tombstones.
+    @JsonIgnore
+    @Column(name = "sync_horizon", nullable = false, insertable = false, updatable = false)
+    private long syncHorizon;
+
     public Organization() {
     }
 
@@ -96,4 +109,8 @@ public class Organization {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public long getSyncHorizon() {
+        return syncHorizon;
+    }
 }
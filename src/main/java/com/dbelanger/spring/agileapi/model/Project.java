@@ -8,24 +8,43 @@
 /// `name: String` the name of the project.
 /// `description: String (not required)` the description of the project, optional.
 /// `organization: Organization` a reference to the `Organization` object.
+/// `version: long` the row version used for optimistic locking; every update bumps it.
+/// `changeSeq: long` the change sequence value of the last write, for delta sync.
+/// `deleted: boolean` set by a delete; the row stays, hidden, until the purge job removes it.
 /// ============================================================
 
 package com.dbelanger.spring.agileapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
+
+import com.dbelanger.spring.agileapi.repository.ChangeStamper;
 
 @Entity
+@EntityListeners(ChangeStamper.class)
+// The database enforces this on live_name, which is null once the row is deleted; see V8__purge_jobs.sql.
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_project_organization_name", columnNames = {"organization_id", "name"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-public class Project {
+public class Project implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -37,8 +56,26 @@ public class Project {
     @Column(nullable = true, unique = false)
     private String description;
 
+    // Tenant discriminator: Hibernate adds `organization_id = <caller's org>` to every query on this entity.
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    // Optimistic lock: Hibernate adds `and version = ?` to every UPDATE and DELETE of the row and bumps it.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Change sequence value of the last write, stamped by ChangeStamper; GET /sync returns rows past the client's.
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    // Set by a delete: every read filters deleted rows out, and PurgeService removes the row and its children later.
+    @Column(nullable = false)
+    private boolean deleted;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
-    @JoinColumn(name = "organization_id", nullable = false)
+    @JoinColumn(name = "organization_id", nullable = false, insertable = false, updatable = false)
     private Organization organization;
 
     public Project() {
@@ -48,7 +85,7 @@ public class Project {
         this.id = id;
         this.name = name;
         this.description = description;
-        this.organization = organization;
+        setOrganization(organization);
     }
 
     public long getId() {
@@ -81,5 +118,36 @@ public class Project {
 
     public void setOrganization(Organization organization) {
         this.organization = organization;
+        this.organizationId = organization != null ? organization.getId() : null;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void markDeleted() {
+        this.deleted = true;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
     }
 }
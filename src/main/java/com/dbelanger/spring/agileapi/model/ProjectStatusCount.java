@@ -0,0 +1,118 @@
+/// ============================================================
+/// Class: ProjectStatusCount
+/// Package: com.dbelanger.spring.agileapi.model
+/// Project: Agile REST API
+/// ============================================================
+/// A materialized count of a project's tasks in one status, kept current by the task writes.
+/// `projectId: long` the project counted.
+/// `status: Task.Status` the status counted.
+/// `taskCount: long` the number of the project's tasks in that status.
+/// ============================================================
+
+package com.dbelanger.spring.agileapi.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import org.hibernate.annotations.TenantId;
+
+@Entity
+@IdClass(ProjectStatusCount.Key.class)
+public class ProjectStatusCount implements Persistable<ProjectStatusCount.Key> {
+
+    public static class Key implements Serializable {
+        private long projectId;
+        private Task.Status status;
+
+        public Key() {
+        }
+
+        public Key(long projectId, Task.Status status) {
+            this.projectId = projectId;
+            this.status = status;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && projectId == key.projectId && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(projectId, status);
+        }
+    }
+
+    @Id
+    @Column(name = "project_id")
+    private long projectId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Task.Status status;
+
+    // Copy of project.organizationId, so the overview reads one organization's rows by index; see Project.
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    // The key is assigned, so without this saveAll would SELECT each row before inserting it.
+    @Transient
+    private boolean newRow = true;
+
+    public ProjectStatusCount() {
+    }
+
+    public ProjectStatusCount(long projectId, Task.Status status, Long organizationId) {
+        this.projectId = projectId;
+        this.status = status;
+        this.organizationId = organizationId;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public Task.Status getStatus() {
+        return status;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(projectId, status);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+}
@@ -0,0 +1,168 @@
+/// ============================================================
+/// Class: PurgeJob
+/// Package: com.dbelanger.spring.agileapi.model
+/// Project: Agile REST API
+/// ============================================================
+/// The background removal of a deleted project or sprint and everything under it.
+/// `id: long` an identifier for the job.
+/// `target: Target` whether a project or a sprint is being purged.
+/// `targetId: long` the id of the deleted project or sprint.
+/// `status: Status` how far the job has got.
+/// `sprintsTotal, tasksTotal: long` how many sprints and tasks there were to remove when it was queued.
+/// `sprintsDeleted, tasksDeleted: long` how many have been removed so far.
+/// `attempts: int` how many attempts have failed.
+/// `nextAttemptAt: LocalDateTime` when a job whose last attempt failed is run again; null if it hasn't failed.
+/// `error: String` why the last attempt failed, if it did.
+/// ============================================================
+
+package com.dbelanger.spring.agileapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.TenantId;
+
+@Entity
+public class PurgeJob {
+
+    public enum Target {
+        PROJECT,
+        SPRINT
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        DONE,
+        // Gave up after purge.max-attempts failed attempts; never run again.
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private long id;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, updatable = false)
+    private Target target;
+
+    @Column(name = "target_id", nullable = false, updatable = false)
+    private long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(name = "sprints_total", nullable = false, updatable = false)
+    private long sprintsTotal;
+
+    @Column(name = "sprints_deleted", nullable = false)
+    private long sprintsDeleted;
+
+    @Column(name = "tasks_total", nullable = false, updatable = false)
+    private long tasksTotal;
+
+    @Column(name = "tasks_deleted", nullable = false)
+    private long tasksDeleted;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column
+    private String error;
+
+    public PurgeJob() {
+    }
+
+    public PurgeJob(Target target, long targetId, Long organizationId, long sprintsTotal, long tasksTotal,
+                    LocalDateTime createdAt) {
+        this.target = target;
+        this.targetId = targetId;
+        this.organizationId = organizationId;
+        this.status = Status.PENDING;
+        this.sprintsTotal = sprintsTotal;
+        this.tasksTotal = tasksTotal;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public long getSprintsTotal() {
+        return sprintsTotal;
+    }
+
+    public long getSprintsDeleted() {
+        return sprintsDeleted;
+    }
+
+    public long getTasksTotal() {
+        return tasksTotal;
+    }
+
+    public long getTasksDeleted() {
+        return tasksDeleted;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
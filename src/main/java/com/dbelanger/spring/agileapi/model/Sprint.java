@@ -9,6 +9,9 @@
 /// `startDate: LocalDateTime` a datetime object for when the sprint started or when it will start.
 /// `endDate: LocalDateTime` a datetime object for when the sprint ended or when it will end.
 /// `project: Project` a reference to the `Project` object.
+/// `version: long` the row version used for optimistic locking; every update bumps it.
+/// `changeSeq: long` the change sequence value of the last write, for delta sync.
+/// `deleted: boolean` set by a delete; the row stays, hidden, until the purge job removes it.
 /// ============================================================
 
 package com.dbelanger.spring.agileapi.model;
@@ -19,15 +22,26 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.TenantId;
+
+import com.dbelanger.spring.agileapi.repository.ChangeStamper;
 
 @Entity
+@EntityListeners(ChangeStamper.class)
+// Enforced on live_name; see Project.
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_sprint_project_name", columnNames = {"project_id", "name"}))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-public class Sprint {
+public class Sprint implements ChangeTracked {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -46,6 +60,24 @@ public class Sprint {
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
 
+    // Copy of project.organization, so tenant scoping needs no join; see Project.
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    // Optimistic lock; see Project.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Delta sync stamp; see Project.
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    // Soft delete until purged; see Project.
+    @Column(nullable = false)
+    private boolean deleted;
+
 
     public Sprint(long id, String name, LocalDateTime startDate, LocalDateTime endDate, Project project) {
         this.id = id;
@@ -97,4 +129,34 @@ public class Sprint {
     public void setProject(Project project) {
         this.project = project;
     }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void markDeleted() {
+        this.deleted = true;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
@@ -0,0 +1,107 @@
+package com.dbelanger.spring.agileapi.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+import org.hibernate.annotations.TenantId;
+import org.springframework.data.domain.Persistable;
+
+/// The net change in a sprint's open (not DONE) tasks on one day, summed from its `TaskEvent`s.
+/// A sprint's burndown is the running sum of its days.
+@Entity
+@IdClass(SprintBurndownDay.Key.class)
+public class SprintBurndownDay implements Persistable<SprintBurndownDay.Key> {
+
+    public static class Key implements Serializable {
+        private long sprintId;
+        private LocalDate bucketDate;
+
+        public Key() {
+        }
+
+        public Key(long sprintId, LocalDate bucketDate) {
+            this.sprintId = sprintId;
+            this.bucketDate = bucketDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && sprintId == key.sprintId && Objects.equals(bucketDate, key.bucketDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sprintId, bucketDate);
+        }
+    }
+
+    @Id
+    @Column(name = "sprint_id")
+    private long sprintId;
+
+    @Id
+    @Column(name = "bucket_date")
+    private LocalDate bucketDate;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "remaining_delta", nullable = false)
+    private long remainingDelta;
+
+    // Assigned key; see ProjectStatusCount.
+    @Transient
+    private boolean newRow = true;
+
+    public SprintBurndownDay() {
+    }
+
+    public SprintBurndownDay(long sprintId, LocalDate bucketDate, Long organizationId, long remainingDelta) {
+        this.sprintId = sprintId;
+        this.bucketDate = bucketDate;
+        this.organizationId = organizationId;
+        this.remainingDelta = remainingDelta;
+    }
+
+    public long getSprintId() {
+        return sprintId;
+    }
+
+    public LocalDate getBucketDate() {
+        return bucketDate;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getRemainingDelta() {
+        return remainingDelta;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(sprintId, bucketDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+}
@@ -0,0 +1,57 @@
+package com.dbelanger.spring.agileapi.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+/// The number of a sprint's tasks that were DONE when its end date passed. Written once, by
+/// `SprintVelocityRepository.freezeEndedBefore`, and then only read.
+@Entity
+@Immutable
+public class SprintVelocity {
+
+    @Id
+    @Column(name = "sprint_id")
+    private long sprintId;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "project_id", nullable = false)
+    private long projectId;
+
+    @Column(name = "completed_tasks", nullable = false)
+    private long completedTasks;
+
+    @Column(name = "frozen_at", nullable = false)
+    private LocalDateTime frozenAt;
+
+    public SprintVelocity() {
+    }
+
+    public long getSprintId() {
+        return sprintId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public LocalDateTime getFrozenAt() {
+        return frozenAt;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -12,10 +13,20 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+import org.hibernate.annotations.TenantId;
+
+import com.dbelanger.spring.agileapi.repository.ChangeStamper;
 
 @Entity
+@EntityListeners(ChangeStamper.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_task_sprint_title", columnNames = {"sprint_id", "title"}))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-public class Task {
+public class Task implements ChangeTracked {
 
     public enum Status {
         TO_DO,
@@ -24,8 +35,10 @@ public class Task {
         BLOCKED
     }
 
+    // A pooled sequence lets Hibernate assign ids without a round trip per row, so inserts can be JDBC-batched.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false)
@@ -49,6 +62,20 @@ public class Task {
     @JoinColumn(name = "sprint_id", nullable = false)
     private Sprint sprint;
 
+    // Copy of sprint.organizationId, so tenant scoping needs no join; see Project.
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    // Optimistic lock; see Project.
+    @Version
+    @Column(nullable = false)
+    private long version;
+
+    // Delta sync stamp; see Project.
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     public Task() {
     }
 
@@ -117,4 +144,26 @@ public class Task {
     public void setSprint(Sprint sprint) {
         this.sprint = sprint;
     }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    @Override
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
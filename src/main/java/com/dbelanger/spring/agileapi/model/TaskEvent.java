@@ -0,0 +1,123 @@
+package com.dbelanger.spring.agileapi.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+/// One change to a task, appended to `task_event` and never updated. Values are stored as text: a status name,
+/// a priority, or an assignee id. Tasks and sprints are referenced by id only, so history outlives deleted tasks;
+/// a sprint's events go when the sprint is purged.
+@Entity
+@Immutable
+public class TaskEvent {
+
+    public enum Kind {
+        CREATED,
+        STATUS,
+        PRIORITY,
+        ASSIGNEE,
+        DELETED
+    }
+
+    // Pooled like task ids, so a flush of many events goes out as JDBC batches.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_event_seq")
+    @SequenceGenerator(name = "task_event_seq", sequenceName = "task_event_seq", allocationSize = 50)
+    private long id;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "sprint_id", nullable = false)
+    private long sprintId;
+
+    @Column(name = "task_id", nullable = false)
+    private long taskId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Kind kind;
+
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    public TaskEvent() {
+    }
+
+    public TaskEvent(Long organizationId, long sprintId, long taskId, LocalDateTime occurredAt,
+                     Kind kind, Object oldValue, Object newValue) {
+        this.organizationId = organizationId;
+        this.sprintId = sprintId;
+        this.taskId = taskId;
+        this.occurredAt = occurredAt;
+        this.kind = kind;
+        this.oldValue = oldValue == null ? null : oldValue.toString();
+        this.newValue = newValue == null ? null : newValue.toString();
+    }
+
+    /// How this event changes the number of open (not DONE) tasks of its sprint: +1, -1 or 0.
+    public long remainingDelta() {
+        boolean wasOpen = isOpen(oldValue);
+        boolean isOpen = isOpen(newValue);
+        return switch (kind) {
+            case CREATED -> isOpen ? 1 : 0;
+            case DELETED -> wasOpen ? -1 : 0;
+            case STATUS -> wasOpen == isOpen ? 0 : isOpen ? 1 : -1;
+            case PRIORITY, ASSIGNEE -> 0;
+        };
+    }
+
+    private static boolean isOpen(String status) {
+        return !Objects.equals(status, Task.Status.DONE.name());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getSprintId() {
+        return sprintId;
+    }
+
+    public long getTaskId() {
+        return taskId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+}
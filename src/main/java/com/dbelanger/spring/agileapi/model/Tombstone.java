@@ -0,0 +1,135 @@
+/// ============================================================
+/// Class: Tombstone
+/// Package: com.dbelanger.spring.agileapi.model
+/// Project: Agile REST API
+/// ============================================================
+/// A record of a deleted project, sprint or task, so delta sync can tell clients to drop it.
+/// `type: Type` the kind of entity deleted.
+/// `entityId: long` the id the entity had.
+/// `changeSeq: long` the change sequence value of the deleting transaction.
+/// `deletedAt: LocalDateTime` when it was deleted; tombstones are compacted after the retention window.
+/// ============================================================
+
+package com.dbelanger.spring.agileapi.model;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import org.hibernate.annotations.TenantId;
+
+@Entity
+@IdClass(Tombstone.Key.class)
+public class Tombstone implements Persistable<Tombstone.Key> {
+
+    public enum Type {
+        PROJECT,
+        SPRINT,
+        TASK
+    }
+
+    public static class Key implements Serializable {
+        private Type type;
+        private long entityId;
+
+        public Key() {
+        }
+
+        public Key(Type type, long entityId) {
+            this.type = type;
+            this.entityId = entityId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key && type == key.type && entityId == key.entityId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, entityId);
+        }
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type")
+    private Type type;
+
+    @Id
+    @Column(name = "entity_id")
+    private long entityId;
+
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "change_seq", nullable = false, updatable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
+    // The key is assigned; see ProjectStatusCount.
+    @Transient
+    private boolean newRow = true;
+
+    public Tombstone() {
+    }
+
+    public Tombstone(Type type, long entityId, Long organizationId, long changeSeq, LocalDateTime deletedAt) {
+        this.type = type;
+        this.entityId = entityId;
+        this.organizationId = organizationId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = deletedAt;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getEntityId() {
+        return entityId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(type, entityId);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newRow;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        newRow = false;
+    }
+}
@@ -9,6 +9,7 @@
 /// `passwordHash: String` a user's encrypted password.
 /// `name: String` a user's name.
 /// `organization: Organization` a reference to the `Organization` object.
+/// `tokenEpoch: long` the epoch stamped into the user's tokens; a token from an older epoch is rejected.
 /// ============================================================
 
 package com.dbelanger.spring.agileapi.model;
@@ -16,6 +17,7 @@ package com.dbelanger.spring.agileapi.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -26,7 +28,13 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.TenantId;
+
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Table(name = "app_user", uniqueConstraints = @UniqueConstraint(columnNames = {"email"}))
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
@@ -45,17 +53,26 @@ public class User {
     @Column(nullable = false)
     private String name;
 
+    // Tenant discriminator; see Project.
+    @TenantId
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
     //this connects users to organizations.
     @ManyToOne(optional = false)
-    @JoinColumn(name = "organization_id", nullable = false)
+    @JoinColumn(name = "organization_id", nullable = false, insertable = false, updatable = false)
     private Organization organization;
 
+    @Column(name = "token_epoch", nullable = false)
+    @JsonIgnore
+    private long tokenEpoch;
+
     public User(long id, String email, String passwordHash, String name, Organization organization) {
         this.id = id;
         this.email = email;
         this.passwordHash = passwordHash;
         this.name = name;
-        this.organization = organization;
+        setOrganization(organization);
     }
 
     public User() {
@@ -99,6 +116,23 @@ public class User {
 
     public void setOrganization(Organization organization) {
         this.organization = organization;
+        this.organizationId = organization != null ? organization.getId() : null;
+    }
+
+    public long getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    public void setTokenEpoch(long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public void setOrganizationId(Long organizationId) {
+        this.organizationId = organizationId;
     }
 
 }
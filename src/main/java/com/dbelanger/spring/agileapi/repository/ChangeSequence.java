@@ -0,0 +1,82 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/// Values of the `change_seq` database sequence, which stamp writes for delta sync. A transaction takes one value
+/// the first time it writes a project, sprint or task, and every row it writes or deletes carries that value.
+/// Values are handed out in increasing order from blocks of `BLOCK_SIZE`, so only one transaction in a block pays
+/// for the round trip.
+///
+/// Transactions commit out of order, so `committedUpTo` only covers a value once it and every smaller one has
+/// committed or rolled back. A client that has synced up to that value can't miss a row that commits later with a
+/// smaller one. Like `ResourceVersions`, this assumes one application process per database.
+@Component
+public class ChangeSequence {
+
+    // The sequence's increment in V7__delta_sync.sql.
+    static final int BLOCK_SIZE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NavigableSet<Long> inFlight = new TreeSet<>();
+    private long next;
+    private long blockEnd = -1;
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /// The current transaction's value, taken on first use and released when the transaction completes.
+    public long current() {
+        Long taken = (Long) TransactionSynchronizationManager.getResource(this);
+        if (taken != null) {
+            return taken;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Changes can only be stamped inside a transaction.");
+        }
+        long value = take();
+        TransactionSynchronizationManager.bindResource(this, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeSequence.this);
+                release(value);
+            }
+        });
+        return value;
+    }
+
+    /// The highest value at or below which every transaction has completed.
+    public synchronized long committedUpTo() {
+        if (blockEnd < 0) {
+            // Nothing taken since startup: everything before the first fresh block has completed.
+            fetchBlock();
+        }
+        return inFlight.isEmpty() ? next - 1 : inFlight.first() - 1;
+    }
+
+    private synchronized long take() {
+        if (next > blockEnd) {
+            fetchBlock();
+        }
+        long value = next++;
+        inFlight.add(value);
+        return value;
+    }
+
+    private synchronized void release(long value) {
+        inFlight.remove(value);
+    }
+
+    private void fetchBlock() {
+        Long start = jdbcTemplate.queryForObject("select next value for change_seq", Long.class);
+        next = start;
+        blockEnd = start + BLOCK_SIZE - 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.model.ChangeTracked;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/// Entity listener that stamps projects, sprints and tasks with the writing transaction's `ChangeSequence` value
+/// when they are inserted and whenever Hibernate flushes a change to them. Hibernate gets it from the Spring
+/// context. Bulk statements bypass it and set `changeSeq` themselves; see `TaskRepositoryCustomImpl`.
+@Component
+public class ChangeStamper {
+
+    private final ChangeSequence changes;
+
+    public ChangeStamper(ChangeSequence changes) {
+        this.changes = changes;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void stamp(Object entity) {
+        ((ChangeTracked) entity).setChangeSeq(changes.current());
+    }
+}
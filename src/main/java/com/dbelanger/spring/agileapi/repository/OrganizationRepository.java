@@ -1,16 +1,26 @@
 package com.dbelanger.spring.agileapi.repository;
 
 import com.dbelanger.spring.agileapi.model.Organization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, Long> {
 
+    // Cached query results: the slug and name lookups resolve to ids, then to the cached entity.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Organization> findBySlug(String slug);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Organization> findByName(String name);
 
     boolean existsBySlug(String slug);
+
+    @Query("select o.syncHorizon from Organization o where o.id = :id")
+    Optional<Long> findSyncHorizonById(long id);
 }
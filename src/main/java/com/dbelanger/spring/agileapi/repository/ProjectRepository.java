@@ -1,20 +1,53 @@
 package com.dbelanger.spring.agileapi.repository;
 
-import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
 import com.dbelanger.spring.agileapi.model.Project;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    List<Project> findAllByOrganization_Id(long organizationId);
+    // Tenant-scoped load by id; see TaskRepository. Deleted projects are filtered out by every query here.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select p from Project p where p.id = :id and p.deleted = false")
+    Optional<Project> findById(Long id);
 
-    Optional<Project> findByIdAndOrganization_Id(long projectId, long organizationId);
+    // Keyset page over the (organization_id, id) index, projected straight into the response shape.
+    @Query("select new com.dbelanger.spring.agileapi.dto.ProjectResponseDto(p.id, p.name, p.description, p.organization.id) "
+            + "from Project p where p.organization.id = :organizationId and p.deleted = false and p.id > :afterId "
+            + "order by p.id")
+    List<ProjectResponseDto> findPageByOrganizationId(long organizationId, long afterId, Limit limit);
 
+    @Query("select p.organizationId from Project p where p.id = :projectId and p.deleted = false")
+    Optional<Long> findOrganizationIdById(long projectId);
 
-    boolean existsByNameAndOrganization(String name, Organization organization);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.dbelanger.spring.agileapi.dto.ProjectResponseDto(p.id, p.name, p.description, p.organization.id) "
+            + "from Project p where p.organization.id = :organizationId and p.deleted = false order by p.id")
+    Stream<ProjectResponseDto> streamByOrganizationId(long organizationId);
+
+    // Sync: the organization's projects written in a range of the change sequence; see TaskRepository.
+    @Query("select new com.dbelanger.spring.agileapi.dto.ProjectResponseDto(p.id, p.name, p.description, p.organizationId) "
+            + "from Project p where p.organizationId = :organizationId and p.changeSeq > :since and p.changeSeq <= :upTo "
+            + "and p.deleted = false order by p.id")
+    List<ProjectResponseDto> findChangedBetween(long organizationId, long since, long upTo);
+
+    // Purge: the last step, once the project's sprints are gone.
+    @Modifying
+    @Transactional
+    @Query("delete from Project p where p.id = :projectId and p.deleted = true")
+    int deletePurged(long projectId);
 }
@@ -0,0 +1,53 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.model.ProjectStatusCount;
+import com.dbelanger.spring.agileapi.model.Task;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface ProjectStatusCountRepository extends JpaRepository<ProjectStatusCount, ProjectStatusCount.Key> {
+
+    // One UPDATE of one counter row; the sprint's project is resolved in the same statement.
+    @Modifying
+    @Transactional
+    @Query("update ProjectStatusCount c set c.taskCount = c.taskCount + :delta "
+            + "where c.status = :status and c.projectId = (select s.project.id from Sprint s where s.id = :sprintId)")
+    int addForSprint(long sprintId, Task.Status status, long delta);
+
+    @Modifying
+    @Transactional
+    @Query("delete from ProjectStatusCount c where c.projectId = :projectId")
+    int deleteByProjectId(long projectId);
+
+    // Organization overview: four rows per project over the (organization_id, project_id) index.
+    @Query("select c from ProjectStatusCount c where c.organizationId = :organizationId order by c.projectId")
+    List<ProjectStatusCount> findByOrganizationId(long organizationId);
+
+    // Reconciliation walks the counters one project at a time, paging project ids over the primary key.
+    @Query("select distinct c.projectId from ProjectStatusCount c where c.projectId > :afterId order by c.projectId")
+    List<Long> findProjectIdsAfter(long afterId, Limit limit);
+
+    // SELECT ... FOR UPDATE of the project's counters, so task writes to the project wait for its recount to commit.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from ProjectStatusCount c where c.projectId = :projectId order by c.status")
+    List<ProjectStatusCount> lockByProjectId(long projectId);
+
+    // Recounts the project's counters from its tasks and rewrites only those that drifted. Tasks of deleted sprints
+    // were taken off the counters by the delete and are not counted.
+    @Modifying
+    @Transactional
+    @Query("update ProjectStatusCount c set c.taskCount = "
+            + "(select count(t) from Task t where t.sprint.project.id = c.projectId and t.status = c.status "
+            + "and t.sprint.deleted = false) "
+            + "where c.projectId = :projectId and c.taskCount <> "
+            + "(select count(t) from Task t where t.sprint.project.id = c.projectId and t.status = c.status "
+            + "and t.sprint.deleted = false)")
+    int recountProject(long projectId);
+}
@@ -0,0 +1,55 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, Long> {
+
+    // Tenant-scoped load by id; see TaskRepository.
+    @Override
+    @Query("select j from PurgeJob j where j.id = :id")
+    Optional<PurgeJob> findById(Long id);
+
+    // The jobs left to run, oldest first, over the (status, id) index; one that failed waits for its next attempt.
+    @Query("select j from PurgeJob j where j.status in ("
+            + "com.dbelanger.spring.agileapi.model.PurgeJob.Status.PENDING, "
+            + "com.dbelanger.spring.agileapi.model.PurgeJob.Status.RUNNING) "
+            + "and (j.nextAttemptAt is null or j.nextAttemptAt <= :now) order by j.id")
+    List<PurgeJob> findDue(LocalDateTime now);
+
+    // Progress, committed with each chunk it counts.
+    @Modifying
+    @Transactional
+    @Query("update PurgeJob j set j.status = com.dbelanger.spring.agileapi.model.PurgeJob.Status.RUNNING, "
+            + "j.sprintsDeleted = j.sprintsDeleted + :sprints, j.tasksDeleted = j.tasksDeleted + :tasks, "
+            + "j.updatedAt = :now where j.id = :id")
+    int addProgress(long id, long sprints, long tasks, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("update PurgeJob j set j.status = com.dbelanger.spring.agileapi.model.PurgeJob.Status.DONE, "
+            + "j.error = null, j.nextAttemptAt = null, j.updatedAt = :now where j.id = :id")
+    int finish(long id, LocalDateTime now);
+
+    // A failed attempt; the job waits until nextAttemptAt.
+    @Modifying
+    @Transactional
+    @Query("update PurgeJob j set j.attempts = j.attempts + 1, j.error = :error, j.nextAttemptAt = :nextAttemptAt, "
+            + "j.updatedAt = :now where j.id = :id")
+    int recordFailure(long id, String error, LocalDateTime nextAttemptAt, LocalDateTime now);
+
+    // The last failed attempt; the job is not run again.
+    @Modifying
+    @Transactional
+    @Query("update PurgeJob j set j.status = com.dbelanger.spring.agileapi.model.PurgeJob.Status.FAILED, "
+            + "j.attempts = j.attempts + 1, j.error = :error, j.nextAttemptAt = null, j.updatedAt = :now "
+            + "where j.id = :id")
+    int fail(long id, String error, LocalDateTime now);
+}
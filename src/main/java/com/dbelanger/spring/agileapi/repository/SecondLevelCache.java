@@ -0,0 +1,62 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/// Caffeine regions behind Hibernate's JCache second-level cache: one per cached entity, plus query results.
+/// Each is bounded by `cache.hibernate.<region>.max-size` entries and expires `cache.hibernate.<region>.ttl-seconds`
+/// after the write. Saves and deletes through Hibernate keep the regions current; SQL that bypasses it must evict.
+@Component
+public class SecondLevelCache implements HibernatePropertiesCustomizer, DisposableBean {
+
+    // Entity regions match the `@Cache(region = ...)` names on the entities.
+    private static final List<String> EXPIRING_REGIONS = List.of(
+            "organization", "user", "project", RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    private final CacheManager cacheManager;
+
+    public SecondLevelCache(Environment environment) {
+        // A manager of our own per application context, so contexts on different databases never share entries.
+        this.cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("agileapi:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : EXPIRING_REGIONS) {
+            long maxSize = environment.getProperty("cache.hibernate." + region + ".max-size", Long.class, 10_000L);
+            long ttlSeconds = environment.getProperty("cache.hibernate." + region + ".ttl-seconds", Long.class, 600L);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            cacheManager.createCache(region, configuration);
+        }
+        // One last-write timestamp per table, checked before any cached query result is used; it must never be evicted.
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<Object, Object>());
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Override
+    public void destroy() {
+        cacheManager.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.model.SprintBurndownDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SprintBurndownDayRepository extends JpaRepository<SprintBurndownDay, SprintBurndownDay.Key> {
+
+    // Folds a day's events into an existing bucket; 0 means the bucket has to be inserted.
+    @Modifying
+    @Transactional
+    @Query("update SprintBurndownDay d set d.remainingDelta = d.remainingDelta + :delta "
+            + "where d.sprintId = :sprintId and d.bucketDate = :bucketDate")
+    int addToDay(long sprintId, LocalDate bucketDate, long delta);
+
+    // Burndown: one row per day with changes, over the primary key.
+    @Query("select d from SprintBurndownDay d where d.sprintId = :sprintId order by d.bucketDate")
+    List<SprintBurndownDay> findBySprintId(long sprintId);
+
+    @Modifying
+    @Transactional
+    @Query("delete from SprintBurndownDay d where d.sprintId = :sprintId")
+    int deleteBySprintId(long sprintId);
+}
@@ -1,13 +1,60 @@
 package com.dbelanger.spring.agileapi.repository;
 
+import com.dbelanger.spring.agileapi.dto.SprintResponseDto;
 import com.dbelanger.spring.agileapi.model.Sprint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SprintRepository extends JpaRepository<Sprint, Long> {
 
-    List<Sprint> findAllByProjectId(long projectId);
+    // Tenant-scoped load by id; see TaskRepository. Deleted sprints are filtered out; see ProjectRepository.
+    @Override
+    @Query("select s from Sprint s where s.id = :id and s.deleted = false")
+    Optional<Sprint> findById(Long id);
 
-    boolean existsByNameAndProject_Id(String name, long projectId);
-}
+    // Keyset page over the (project_id, id) index, projected straight into the response shape.
+    @Query("select new com.dbelanger.spring.agileapi.dto.SprintResponseDto(s.id, s.name, s.startDate, s.endDate, s.project.id) "
+            + "from Sprint s where s.project.id = :projectId and s.deleted = false and s.id > :afterId order by s.id")
+    List<SprintResponseDto> findPageByProjectId(long projectId, long afterId, Limit limit);
+
+    @Query("select s.organizationId from Sprint s where s.id = :sprintId and s.deleted = false")
+    Optional<Long> findOrganizationIdById(long sprintId);
+
+    // Sync: the organization's sprints written in a range of the change sequence; see TaskRepository.
+    @Query("select new com.dbelanger.spring.agileapi.dto.SprintResponseDto(s.id, s.name, s.startDate, s.endDate, s.project.id) "
+            + "from Sprint s where s.organizationId = :organizationId and s.changeSeq > :since and s.changeSeq <= :upTo "
+            + "and s.deleted = false order by s.id")
+    List<SprintResponseDto> findChangedBetween(long organizationId, long since, long upTo);
 
+    // Project delete and purge: every sprint of the project, deleted or not, over the (project_id, name) index.
+    @Query("select s.id from Sprint s where s.project.id = :projectId")
+    List<Long> findIdsByProjectId(long projectId);
+
+    // Project delete: hides all of the project's sprints in one statement. The version is bumped so that an update
+    // that read a sprint before this cannot write it back undeleted.
+    @Modifying
+    @Transactional
+    @Query("update Sprint s set s.deleted = true, s.version = s.version + 1 where s.project.id = :projectId")
+    int markDeletedByProjectId(long projectId);
+
+    // Event log flush: which of the sprints still exist, locked so that deleting one of them waits until the events
+    // written for it have committed, where the purge will find them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id from Sprint s where s.id in :ids and s.deleted = false order by s.id")
+    List<Long> lockLiveIds(Collection<Long> ids);
+
+    // Purge: removes the sprint once its tasks and the rows keyed by it are gone.
+    @Modifying
+    @Transactional
+    @Query("delete from Sprint s where s.id = :sprintId and s.deleted = true")
+    int deletePurged(long sprintId);
+}
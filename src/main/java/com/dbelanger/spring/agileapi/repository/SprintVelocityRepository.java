@@ -0,0 +1,38 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.dto.SprintVelocityDto;
+import com.dbelanger.spring.agileapi.model.SprintVelocity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SprintVelocityRepository extends JpaRepository<SprintVelocity, Long> {
+
+    // Velocity: the project's latest started sprints with their frozen count, if any, in one query.
+    @Query("select new com.dbelanger.spring.agileapi.dto.SprintVelocityDto(s.id, s.name, s.startDate, s.endDate, v.completedTasks) "
+            + "from Sprint s left join SprintVelocity v on v.sprintId = s.id "
+            + "where s.project.id = :projectId and s.deleted = false and s.startDate <= :now "
+            + "order by s.startDate desc, s.id desc")
+    List<SprintVelocityDto> findRecentByProjectId(long projectId, LocalDateTime now, Limit limit);
+
+    // Freezing: one set-based INSERT for every sprint that has ended and has no row yet. Deleted sprints are skipped,
+    // so nothing new references a sprint that is being purged.
+    @Modifying
+    @Transactional
+    @Query("insert into SprintVelocity (sprintId, organizationId, projectId, completedTasks, frozenAt) "
+            + "select s.id, s.organizationId, s.project.id, "
+            + "(select count(t) from Task t where t.sprint.id = s.id and t.status = com.dbelanger.spring.agileapi.model.Task.Status.DONE), "
+            + ":now from Sprint s "
+            + "where s.endDate < :now and s.deleted = false and not exists (select 1 from SprintVelocity v where v.sprintId = s.id)")
+    int freezeEndedBefore(LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("delete from SprintVelocity v where v.sprintId = :sprintId")
+    int deleteBySprintId(long sprintId);
+}
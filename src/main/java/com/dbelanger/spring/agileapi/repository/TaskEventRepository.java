@@ -0,0 +1,24 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.model.TaskEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    // Purge: the next chunk of a deleted sprint's events, over the (sprint_id, id) index.
+    @Query("select e.id from TaskEvent e where e.sprintId = :sprintId")
+    List<Long> findIdsBySprintId(long sprintId, Limit limit);
+
+    // Purge: one set-based DELETE per chunk, by primary key.
+    @Modifying
+    @Transactional
+    @Query("delete from TaskEvent e where e.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+}
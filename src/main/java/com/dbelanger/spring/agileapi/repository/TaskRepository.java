@@ -1,32 +1,78 @@
 package com.dbelanger.spring.agileapi.repository;
 
+import com.dbelanger.spring.agileapi.dto.TaskGroupCountDto;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
 import com.dbelanger.spring.agileapi.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task>, TaskRepositoryCustom {
 
-    List<Task> findAllBySprintId(long sprintId);
+    // Redeclared as a query: Hibernate applies the @TenantId restriction to queries but not to EntityManager.find.
+    @Override
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> findById(Long id);
 
-    List<Task> findAllBySprintIdAndStatus(long sprintId, Task.Status status);
+    // Export path: rows are projected straight to the response shape and pulled from the
+    // cursor in fetch-size chunks, so nothing accumulates in the persistence context.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.dbelanger.spring.agileapi.dto.TaskResponseDto(t.id, t.title, t.description, t.status, t.priority, t.assignee.id, t.sprint.id) "
+            + "from Task t where t.sprint.id = :sprintId "
+            + "and (:status is null or t.status = :status) "
+            + "and (:priority is null or t.priority = :priority) "
+            + "and (:assigneeId is null or t.assignee.id = :assigneeId) "
+            + "order by t.id")
+    Stream<TaskResponseDto> streamBySprintId(long sprintId, Task.Status status, Integer priority, Long assigneeId);
 
-    List<Task> findAllBySprintIdAndPriority(long sprintId, int priority);
+    @Query("select t.sprint.id from Task t where t.id = :taskId")
+    Optional<Long> findSprintIdById(long taskId);
 
-    List<Task> findAllBySprintIdAndAssignee_Id(long sprintId, long assigneeId);
+    // Sprint summary: one grouped pass over the sprint's range of the (sprint_id, status, priority) index,
+    // returning a row per distinct status, priority and assignee instead of the tasks themselves.
+    @Query("select new com.dbelanger.spring.agileapi.dto.TaskGroupCountDto(t.status, t.priority, t.assignee.id, count(t)) "
+            + "from Task t where t.sprint.id = :sprintId "
+            + "group by t.status, t.priority, t.assignee.id")
+    List<TaskGroupCountDto> countGroupsBySprintId(long sprintId);
 
-    List<Task> findAllBySprintIdAndStatusAndPriority(long sprintId, Task.Status status, int priority);
+    // Bulk create: one query finds every requested title that is already taken in the sprint.
+    @Query("select t.title from Task t where t.sprint.id = :sprintId and t.title in :titles")
+    Set<String> findTitlesInSprint(long sprintId, Collection<String> titles);
 
-    List<Task> findAllBySprintIdAndStatusAndAssignee_Id(long sprintId, Task.Status status, long assigneeId);
+    // Velocity of a sprint that is not frozen yet, from the sprint's DONE range of the (sprint_id, status) index.
+    @Query("select count(t) from Task t where t.sprint.id = :sprintId "
+            + "and t.status = com.dbelanger.spring.agileapi.model.Task.Status.DONE")
+    long countDoneBySprintId(long sprintId);
 
-    List<Task> findAllBySprintIdAndPriorityAndAssignee_Id(long sprintId, int priority, long assigneeId);
+    // Sync: the organization's tasks written in a range of the change sequence, over the (organization_id, change_seq) index.
+    @Query("select new com.dbelanger.spring.agileapi.dto.TaskResponseDto(t.id, t.title, t.description, t.status, t.priority, t.assignee.id, t.sprint.id) "
+            + "from Task t where t.organizationId = :organizationId and t.changeSeq > :since and t.changeSeq <= :upTo "
+            + "and t.sprint.deleted = false order by t.id")
+    List<TaskResponseDto> findChangedBetween(long organizationId, long since, long upTo);
 
-    List<Task> findAllBySprintIdAndStatusAndPriorityAndAssignee_Id(
-            long sprintId, Task.Status status, int priority, long assigneeId
-    );
+    // Project delete: the size of the purge, for its progress.
+    @Query("select count(t) from Task t where t.sprint.project.id = :projectId")
+    long countByProjectId(long projectId);
 
-    boolean existsByTitleAndSprint_Id(String title, long sprintId);
+    // Purge: the next chunk of a deleted sprint's tasks, over the (sprint_id, status, priority) index.
+    @Query("select t.id from Task t where t.sprint.id = :sprintId")
+    List<Long> findIdsBySprintId(long sprintId, Limit limit);
 
-    Optional<Task> findByIdAndSprint_Project_Organization_Id(long taskId, long organizationId);
+    // Purge: one set-based DELETE per chunk, by primary key.
+    @Modifying
+    @Transactional
+    @Query("delete from Task t where t.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
 }
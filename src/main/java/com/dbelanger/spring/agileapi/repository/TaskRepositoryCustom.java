@@ -0,0 +1,21 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dbelanger.spring.agileapi.dto.TaskStateDto;
+import com.dbelanger.spring.agileapi.model.Task;
+
+public interface TaskRepositoryCustom {
+
+    /// Applies the non-null changes to every task that matches `where` and belongs to the organization,
+    /// as one `UPDATE` statement. The organization is checked explicitly so the statement stays scoped
+    /// even when run from a root-tenant session. Returns the number of rows changed.
+    int updateMatching(long organizationId, Specification<Task> where,
+                       Task.Status status, Integer priority, Long assigneeId);
+
+    /// Id, status, priority and assignee id of every task matching `where`, without loading the entities.
+    /// The rows are read `FOR UPDATE`, so they keep these values until the caller's transaction ends.
+    List<TaskStateDto> findStatesMatching(Specification<Task> where);
+}
@@ -0,0 +1,76 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.dbelanger.spring.agileapi.dto.TaskStateDto;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ChangeSequence changes;
+
+    TaskRepositoryCustomImpl(ChangeSequence changes) {
+        this.changes = changes;
+    }
+
+    @Override
+    @Transactional
+    public int updateMatching(long organizationId, Specification<Task> where,
+                              Task.Status status, Integer priority, Long assigneeId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (status != null) {
+            update.set(task.<Task.Status>get("status"), status);
+        }
+        if (priority != null) {
+            update.set(task.<Integer>get("priority"), priority);
+        }
+        if (assigneeId != null) {
+            update.set(task.<User>get("assignee"), entityManager.getReference(User.class, assigneeId));
+        }
+        // Bulk DML bypasses @Version, so bump it here too: a PATCH that read a task before this runs must conflict.
+        update.set(task.<Long>get("version"), cb.sum(task.<Long>get("version"), 1L));
+        // Nor does it run ChangeStamper.
+        update.set(task.<Long>get("changeSeq"), changes.current());
+
+        // Same convention as JpaSpecificationExecutor.delete: specifications get no CriteriaQuery for DML.
+        Predicate matching = where == null ? null : where.toPredicate(task, null, cb);
+        Predicate inTenant = cb.equal(task.get("organizationId"), organizationId);
+        update.where(matching == null ? inTenant : cb.and(matching, inTenant));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    @Override
+    public List<TaskStateDto> findStatesMatching(Specification<Task> where) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskStateDto> query = cb.createQuery(TaskStateDto.class);
+        Root<Task> task = query.from(Task.class);
+
+        query.select(cb.construct(TaskStateDto.class, task.get("id"), task.get("status"), task.get("priority"),
+                task.get("assignee").get("id")));
+        Predicate matching = where == null ? null : where.toPredicate(task, query, cb);
+        if (matching != null) {
+            query.where(matching);
+        }
+        return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.dbelanger.spring.agileapi.model.Task;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+/// Composable filters for `TaskRepository`. Each returns `null` when its argument is absent,
+/// which `Specification.and` treats as "no restriction", so any combination becomes one WHERE clause.
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> inSprint(long sprintId) {
+        return (root, query, cb) -> cb.equal(root.get("sprint").get("id"), sprintId);
+    }
+
+    public static Specification<Task> hasStatus(Task.Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriority(Integer priority) {
+        return priority == null ? null : (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static Specification<Task> assignedTo(Long assigneeId) {
+        return assigneeId == null ? null : (root, query, cb) -> cb.equal(root.get("assignee").get("id"), assigneeId);
+    }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return ids == null ? null : (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> matching(long sprintId, Task.Status status, Integer priority, Long assigneeId) {
+        return Specification.where(inSprint(sprintId))
+                .and(hasStatus(status))
+                .and(hasPriority(priority))
+                .and(assignedTo(assigneeId));
+    }
+
+    /// Keyset seek: rows strictly after `lastValues` in `sort` order, expanded to
+    /// `(k1 > v1) OR (k1 = v1 AND k2 > v2) OR ...` so the database can range-scan an index on the sort keys.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Task> seekAfter(Sort sort, List<String> lastValues) {
+        if (lastValues.isEmpty()) {
+            return null;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != lastValues.size()) {
+            throw new IllegalArgumentException("Invalid pagination cursor.");
+        }
+        return (root, query, cb) -> {
+            Predicate seek = cb.disjunction();
+            for (int i = 0; i < orders.size(); i++) {
+                Predicate step = cb.conjunction();
+                for (int j = 0; j < i; j++) {
+                    String property = orders.get(j).getProperty();
+                    step = cb.and(step, cb.equal(root.get(property), sortValueOf(property, lastValues.get(j))));
+                }
+                Sort.Order order = orders.get(i);
+                Expression<Comparable> path = root.get(order.getProperty());
+                Comparable value = sortValueOf(order.getProperty(), lastValues.get(i));
+                step = cb.and(step, order.isAscending() ? cb.greaterThan(path, value) : cb.lessThan(path, value));
+                seek = cb.or(seek, step);
+            }
+            return seek;
+        };
+    }
+
+    public static String sortKeyOf(Task task, String property) {
+        return switch (property) {
+            case "id" -> String.valueOf(task.getId());
+            case "title" -> task.getTitle();
+            case "status" -> task.getStatus().name();
+            case "priority" -> String.valueOf(task.getPriority());
+            default -> throw new IllegalArgumentException("Cannot sort tasks by '" + property + "'.");
+        };
+    }
+
+    private static Comparable<?> sortValueOf(String property, String raw) {
+        try {
+            return switch (property) {
+                case "id" -> Long.valueOf(raw);
+                case "title" -> raw;
+                case "status" -> Task.Status.valueOf(raw);
+                case "priority" -> Integer.valueOf(raw);
+                default -> throw new IllegalArgumentException("Cannot sort tasks by '" + property + "'.");
+            };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor.");
+        }
+    }
+}
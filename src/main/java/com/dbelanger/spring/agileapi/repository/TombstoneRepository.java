@@ -0,0 +1,32 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import com.dbelanger.spring.agileapi.model.Tombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TombstoneRepository extends JpaRepository<Tombstone, Tombstone.Key> {
+
+    // Sync: the organization's deletes in a range of the change sequence, over the (organization_id, change_seq) index.
+    @Query("select t from Tombstone t where t.organizationId = :organizationId "
+            + "and t.changeSeq > :since and t.changeSeq <= :upTo order by t.changeSeq")
+    List<Tombstone> findChangedBetween(long organizationId, long since, long upTo);
+
+    // Compaction: raises the horizon of each organization that has tombstones older than the cutoff to the newest
+    // of them, before they are deleted.
+    @Modifying
+    @Transactional
+    @Query("update Organization o set o.syncHorizon = greatest(o.syncHorizon, "
+            + "(select max(t.changeSeq) from Tombstone t where t.organizationId = o.id and t.deletedAt < :cutoff)) "
+            + "where o.id in (select t.organizationId from Tombstone t where t.deletedAt < :cutoff)")
+    int raiseSyncHorizons(LocalDateTime cutoff);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Tombstone t where t.deletedAt < :cutoff")
+    int deleteDeletedBefore(LocalDateTime cutoff);
+}
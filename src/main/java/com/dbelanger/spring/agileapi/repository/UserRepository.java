@@ -1,14 +1,41 @@
 package com.dbelanger.spring.agileapi.repository;
 
+import com.dbelanger.spring.agileapi.dto.UserResponseDto;
 import com.dbelanger.spring.agileapi.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 
 public interface UserRepository extends JpaRepository<User, Long>{
 
-    List<User> findAllByOrganizationId(long id);
+    // Tenant-scoped load by id; see TaskRepository.
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select u from User u where u.id = :id")
+    Optional<User> findById(Long id);
+
+    // The user's current token epoch, read on every request in the stateless principal mode; empty once the user is deleted.
+    @Query("select u.tokenEpoch from User u where u.id = :id")
+    Optional<Long> findTokenEpochById(long id);
+
+    // Keyset page over the organization's users, projected straight into the response shape.
+    @Query("select new com.dbelanger.spring.agileapi.dto.UserResponseDto(u.id, u.name, u.email, u.organization.id) "
+            + "from User u where u.organization.id = :organizationId and u.id > :afterId order by u.id")
+    List<UserResponseDto> findPageByOrganizationId(long organizationId, long afterId, Limit limit);
+
+    // Of the given ids, the ones that exist and belong to the organization.
+    @Query("select u.id from User u where u.id in :ids and u.organization.id = :organizationId")
+    Set<Long> findIdsInOrganization(Collection<Long> ids, long organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
 
@@ -3,6 +3,7 @@ package com.dbelanger.spring.agileapi.security;
 import java.io.IOException;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -10,6 +11,7 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.UserRepository;
 
@@ -24,10 +26,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserRepository userRepository) {
+    // When enabled the principal is built from the verified claims alone, without a per-request user lookup.
+    @Value("${jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
+
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   UserRepository userRepository,
+                                   UserPrincipalCache userPrincipalCache) {
         this.jwtService = jwtService;
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
@@ -44,8 +54,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             Claims claims = jwtService.validateTokenAndGetClaims(token);
             long userId = Long.parseLong(claims.getSubject());
-            User user = userRepository.findById(userId)
-                    .orElse(null);
+            long tokenEpoch = tokenEpoch(claims);
+            User user = statelessPrincipal
+                    ? principalFromClaims(userId, tokenEpoch, claims)
+                    : userRepository.findById(userId).filter(u -> u.getTokenEpoch() == tokenEpoch).orElse(null);
             if (user != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         user,
@@ -61,4 +73,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Tokens issued before epochs existed carry none; they belong to the first epoch.
+    private static long tokenEpoch(Claims claims) {
+        Long epoch = claims.get("epoch", Long.class);
+        return epoch != null ? epoch : 0L;
+    }
+
+    private User principalFromClaims(long userId, long tokenEpoch, Claims claims) {
+        Long organizationId = claims.get("organizationId", Long.class);
+        if (organizationId == null || !userPrincipalCache.isCurrent(userId, tokenEpoch)) {
+            return null;
+        }
+        User principal = new User();
+        principal.setId(userId);
+        principal.setOrganization(new Organization(organizationId));
+        return principal;
+    }
 }
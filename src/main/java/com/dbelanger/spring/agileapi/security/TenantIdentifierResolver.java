@@ -0,0 +1,49 @@
+package com.dbelanger.spring.agileapi.security;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.model.User;
+
+/// Resolves the Hibernate tenant of a new session from the authenticated principal's organization.
+/// Every query on a `@TenantId` entity is then restricted to that organization's rows.
+/// Sessions opened without an authenticated user (login, registration, the JWT filter itself, the shell)
+/// run as the root tenant, which sees every row and may write any organization id.
+/// The tenant is fixed when the session opens; with open-in-view that is after the security filters ran.
+@Component
+public class TenantIdentifierResolver implements CurrentTenantIdentifierResolver<Long>, HibernatePropertiesCustomizer {
+
+    public static final long ROOT_TENANT = 0L;
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof User user
+                && user.getOrganization() != null) {
+            return user.getOrganization().getId();
+        }
+        return ROOT_TENANT;
+    }
+
+    @Override
+    public boolean isRoot(Long tenantId) {
+        return tenantId == ROOT_TENANT;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
@@ -0,0 +1,63 @@
+package com.dbelanger.spring.agileapi.security;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/// Bounded cache of full `User` entities for the few paths that need more than the JWT claims,
+/// plus the per-user token epochs checked by the stateless principal mode.
+/// The epochs live in `app_user.token_epoch`, so a revocation survives restarts and reaches every instance;
+/// a cached epoch is trusted for `jwt.epoch-cache-ttl-ms`, which bounds how long another instance may lag.
+@Component
+public class UserPrincipalCache {
+
+    // Cached for users with no row, so a deleted user's tokens don't reach the database on every request.
+    private static final long NO_USER = -1L;
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> users;
+    private final Cache<Long, Long> tokenEpochs;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              @Value("${jwt.principal-cache-size:1000}") long maxSize,
+                              @Value("${jwt.epoch-cache-size:100000}") long epochCacheSize,
+                              @Value("${jwt.epoch-cache-ttl-ms:30000}") long epochTtl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.tokenEpochs = Caffeine.newBuilder()
+                .maximumSize(epochCacheSize)
+                .expireAfterWrite(Duration.ofMillis(epochTtl))
+                .build();
+    }
+
+    public Optional<User> findUser(long userId) {
+        User cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> loaded = userRepository.findById(userId);
+        loaded.ifPresent(u -> users.put(userId, u));
+        return loaded;
+    }
+
+    /// Drops what this instance holds for the user, so the next lookup reads the row (or its absence) again.
+    public void evict(long userId) {
+        users.invalidate(userId);
+        tokenEpochs.invalidate(userId);
+    }
+
+    /// Whether a token issued at `tokenEpoch` is still good: the user exists and their epoch has not moved on.
+    public boolean isCurrent(long userId, long tokenEpoch) {
+        long current = tokenEpochs.get(userId, id -> userRepository.findTokenEpochById(id).orElse(NO_USER));
+        return current != NO_USER && current == tokenEpoch;
+    }
+}
@@ -39,7 +39,11 @@ public class OrganizationService {
     }
 
     public void assertUserInOrganization(User user, Organization organization) throws AccessDeniedException {
-        if (!(user.getOrganization().getId() == (organization.getId()))) {
+        assertUserInOrganization(user, organization.getId());
+    }
+
+    public void assertUserInOrganization(User user, long organizationId) throws AccessDeniedException {
+        if (user.getOrganization().getId() != organizationId) {
             throw new AccessDeniedException("User is not a member of organization.");
         }
     }
@@ -0,0 +1,96 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/// Answers "which organization owns this project / sprint?" with a single-column query, so a child can be
+/// listed or created under a parent without loading the parent.
+/// Ownership never changes after creation and ids are never reused, so the only invalidation needed is on delete.
+/// The same holds for a task's sprint, which is cached the same way.
+/// A parent owned by another organization is reported exactly like a missing one, as tenant-scoped reads do.
+@Component
+public class OwnershipResolver {
+
+    private final ProjectRepository projectRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final Cache<Long, Long> projectOwners;
+    private final Cache<Long, Long> sprintOwners;
+    private final Cache<Long, Long> taskSprints;
+
+    public OwnershipResolver(ProjectRepository projectRepository,
+                             SprintRepository sprintRepository,
+                             TaskRepository taskRepository,
+                             @Value("${auth.ownership-cache-size:10000}") long maxSize) {
+        this.projectRepository = projectRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.projectOwners = Caffeine.newBuilder().maximumSize(maxSize).build();
+        this.sprintOwners = Caffeine.newBuilder().maximumSize(maxSize).build();
+        this.taskSprints = Caffeine.newBuilder().maximumSize(maxSize).build();
+    }
+
+    /// Returns the caller's organization id if the project belongs to it.
+    public long requireOwnProject(long projectId, User user) {
+        return requireOwn(projectOwners, projectId, projectRepository::findOrganizationIdById, "Project", user);
+    }
+
+    /// Returns the caller's organization id if the sprint belongs to it.
+    public long requireOwnSprint(long sprintId, User user) {
+        return requireOwn(sprintOwners, sprintId, sprintRepository::findOrganizationIdById, "Sprint", user);
+    }
+
+    /// Returns the task's sprint id if the task belongs to the caller's organization.
+    public long requireOwnTask(long taskId, User user) {
+        Long sprintId = lookup(taskSprints, taskId, taskRepository::findSprintIdById);
+        Long organizationId = sprintId == null ? null
+                : lookup(sprintOwners, sprintId, sprintRepository::findOrganizationIdById);
+        if (organizationId == null || organizationId != user.getOrganization().getId()) {
+            throw new IllegalArgumentException("Task at " + taskId + " not found.");
+        }
+        return sprintId;
+    }
+
+    public void evictProject(long projectId) {
+        projectOwners.invalidate(projectId);
+    }
+
+    public void evictSprint(long sprintId) {
+        sprintOwners.invalidate(sprintId);
+    }
+
+    public void evictTask(long taskId) {
+        taskSprints.invalidate(taskId);
+    }
+
+    private static long requireOwn(Cache<Long, Long> owners, long id, LongFunction<Optional<Long>> lookup,
+                                   String kind, User user) {
+        Long organizationId = lookup(owners, id, lookup);
+        if (organizationId == null || organizationId != user.getOrganization().getId()) {
+            throw new IllegalArgumentException(kind + " at " + id + " not found.");
+        }
+        return organizationId;
+    }
+
+    // Misses are not cached: an id that doesn't exist yet may be created later.
+    private static Long lookup(Cache<Long, Long> cache, long id, LongFunction<Optional<Long>> query) {
+        Long value = cache.getIfPresent(id);
+        if (value == null) {
+            value = query.apply(id).orElse(null);
+            if (value != null) {
+                cache.put(id, value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,87 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+
+/// Opaque keyset cursors. A cursor carries the ordering it was issued for plus the sort-key
+/// values of the last row returned, so the next page can seek past that row instead of using OFFSET.
+final class PageCursors {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private PageCursors() {
+    }
+
+    static String encode(String ordering, List<String> values) {
+        StringBuilder sb = new StringBuilder(token(ordering));
+        for (String value : values) {
+            sb.append('.').append(token(value));
+        }
+        return ENCODER.encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /// Returns the sort-key values stored in the cursor, or an empty list when no cursor was given.
+    static List<String> decode(String cursor, String ordering) {
+        if (cursor == null || cursor.isBlank()) {
+            return List.of();
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\.", -1);
+            if (!untoken(parts[0]).equals(ordering)) {
+                throw new IllegalArgumentException("Cursor does not match the requested ordering.");
+            }
+            List<String> values = new ArrayList<>(parts.length - 1);
+            for (int i = 1; i < parts.length; i++) {
+                values.add(untoken(parts[i]));
+            }
+            return values;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor.");
+        }
+    }
+
+    static long decodeId(String cursor) {
+        List<String> values = decode(cursor, "id");
+        if (values.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(values.get(0));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor.");
+        }
+    }
+
+    static void checkLimit(int limit) {
+        if (limit < 1 || limit > CursorPage.MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + CursorPage.MAX_LIMIT + ".");
+        }
+    }
+
+    /// Builds a page from a query that fetched `limit + 1` rows; the extra row only signals that another page exists.
+    static <T> CursorPage<T> page(List<T> rows, int limit, Function<T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(List.copyOf(items), cursorOf.apply(items.get(limit - 1)));
+    }
+
+    static <T> CursorPage<T> pageById(List<T> rows, int limit, Function<T, Long> idOf) {
+        return page(rows, limit, row -> encode("id", List.of(String.valueOf(idOf.apply(row)))));
+    }
+
+    private static String token(String value) {
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String untoken(String token) {
+        return new String(DECODER.decode(token), StandardCharsets.UTF_8);
+    }
+}
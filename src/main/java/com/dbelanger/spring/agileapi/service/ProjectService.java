@@ -1,59 +1,175 @@
 package com.dbelanger.spring.agileapi.service;
 
-import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.OrganizationOverviewDto;
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
 import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.AccessDeniedException;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public class ProjectService {
 
+    public static final int MAX_VELOCITY_SPRINTS = 50;
+
     private final ProjectRepository projectRepository;
     private final OrganizationService organizationService;
+    private final OwnershipResolver ownership;
+    private final ResourceVersions versions;
+    private final ProjectStatusCounters statusCounts;
+    private final SprintVelocities velocities;
+    private final Tombstones tombstones;
+    private final PurgeService purges;
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
 
-    public ProjectService(ProjectRepository projectRepository, OrganizationService organizationService) {
+    public ProjectService(ProjectRepository projectRepository,
+                          OrganizationService organizationService,
+                          OwnershipResolver ownership,
+                          ResourceVersions versions,
+                          ProjectStatusCounters statusCounts,
+                          SprintVelocities velocities,
+                          Tombstones tombstones,
+                          PurgeService purges,
+                          SprintRepository sprintRepository,
+                          TaskRepository taskRepository,
+                          PlatformTransactionManager transactionManager) {
         this.projectRepository = projectRepository;
         this.organizationService = organizationService;
+        this.ownership = ownership;
+        this.versions = versions;
+        this.statusCounts = statusCounts;
+        this.velocities = velocities;
+        this.tombstones = tombstones;
+        this.purges = purges;
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /// ETag of the organization's project list.
+    public String etagOfProjects(long orgId, User user) throws AccessDeniedException {
+        organizationService.assertUserInOrganization(user, orgId);
+        return versions.tag(ResourceVersions.Scope.ORGANIZATION, orgId);
+    }
+
+    public String etagOfProject(long projectId, User user) {
+        ownership.requireOwnProject(projectId, user);
+        return versions.tag(ResourceVersions.Scope.PROJECT, projectId);
+    }
+
+    public CursorPage<ProjectResponseDto> getProjectsByOrganizationId(long orgId, User user, String after, int limit) throws AccessDeniedException {
+        PageCursors.checkLimit(limit);
+        organizationService.assertUserInOrganization(user, orgId);
+        List<ProjectResponseDto> rows = projectRepository.findPageByOrganizationId(
+                orgId, PageCursors.decodeId(after), Limit.of(limit + 1));
+        return PageCursors.pageById(rows, limit, row -> row.id);
     }
 
-    public List<Project> getProjectsByOrganizationId(long orgId, User user) throws AccessDeniedException {
-        organizationService.assertUserInOrganization(user, new Organization(orgId));
-        return projectRepository.findAllByOrganization_Id(orgId);
+    public RowStream<ProjectResponseDto> streamProjectsByOrganizationId(long orgId, User user) throws AccessDeniedException {
+        organizationService.assertUserInOrganization(user, orgId);
+        return sink -> readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<ProjectResponseDto> rows = projectRepository.streamByOrganizationId(orgId)) {
+                rows.forEach(sink);
+            }
+        });
     }
 
     public Project createNewProject(Project project, User user) throws AccessDeniedException {
         organizationService.assertUserInOrganization(user, project.getOrganization());
-        return projectRepository.save(project);
+        return versions.write(ResourceVersions.Scope.ORGANIZATION, project.getOrganization().getId(), null,
+                () -> writeTransaction.execute(tx -> {
+                    Project saved = projectRepository.save(project);
+                    statusCounts.createFor(saved);
+                    return saved;
+                }));
+    }
+
+    /// Task counts by status for each of the organization's projects and in total, read from the counters kept by
+    /// the task writes: a few rows per project however many tasks there are.
+    public OrganizationOverviewDto getOrganizationOverview(long orgId, User user) throws AccessDeniedException {
+        organizationService.assertUserInOrganization(user, orgId);
+        return statusCounts.overview(orgId);
+    }
+
+    /// Completed tasks of the project's `sprints` latest started sprints; ended ones report the count frozen when
+    /// they ended.
+    public ProjectVelocityDto getVelocity(long projectId, User user, int sprints) {
+        if (sprints < 1 || sprints > MAX_VELOCITY_SPRINTS) {
+            throw new IllegalArgumentException("sprints must be between 1 and " + MAX_VELOCITY_SPRINTS + ".");
+        }
+        ownership.requireOwnProject(projectId, user);
+        return velocities.recent(projectId, sprints);
     }
 
     public Project getProjectById(long projectId, User user) throws AccessDeniedException {
-        return projectRepository.findByIdAndOrganization_Id(projectId, user.getOrganization().getId())
+        return projectRepository.findById(projectId)
                 .orElseThrow(() -> new IllegalArgumentException("Project at " + projectId + " not found."));
     }
 
-    public Project updateProjectById(Project updatedProject, long id, User user) throws AccessDeniedException {
-        Project project = projectRepository.findByIdAndOrganization_Id(id, user.getOrganization().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Project at " + id + " not found."));
+    /// `ifMatch`, when given, must match the project's current ETag.
+    /// The read and the write share one transaction, so the change is flushed as a single
+    /// `UPDATE ... WHERE id = ? AND version = ?` with no merge re-read; a write that landed in between fails it
+    /// with `OptimisticLockingFailureException`.
+    public Project updateProjectById(Project updatedProject, long id, User user, String ifMatch) throws AccessDeniedException {
+        long organizationId = ownership.requireOwnProject(id, user);
+        Project saved = versions.write(ResourceVersions.Scope.PROJECT, id, ifMatch, () -> writeTransaction.execute(tx -> {
+            Project project = projectRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Project at " + id + " not found."));
 
-        if (updatedProject.getName() != null) {
-            project.setName(updatedProject.getName());
-        }
+            if (updatedProject.getName() != null) {
+                project.setName(updatedProject.getName());
+            }
 
-        if (updatedProject.getDescription() != null) {
-            project.setDescription(updatedProject.getDescription());
-        }
+            if (updatedProject.getDescription() != null) {
+                project.setDescription(updatedProject.getDescription());
+            }
 
-        return projectRepository.save(project);
+            return projectRepository.saveAndFlush(project);
+        }));
+        versions.bump(ResourceVersions.Scope.ORGANIZATION, organizationId);
+        return saved;
     }
 
-    public void deleteProjectById(long id, User user) throws AccessDeniedException {
-        Project project = projectRepository.findByIdAndOrganization_Id(id, user.getOrganization().getId())
-                .orElseThrow(() -> new IllegalArgumentException("Project at " + id + " not found."));
-
-        projectRepository.delete(project);
+    /// `ifMatch`, when given, must match the project's current ETag. Hides the project and its sprints and tasks
+    /// at once and returns the job that removes them; see `PurgeService`.
+    public PurgeJob deleteProjectById(long id, User user, String ifMatch) throws AccessDeniedException {
+        long organizationId = ownership.requireOwnProject(id, user);
+        record Deleted(PurgeJob job, List<Long> sprintIds) {
+        }
+        Deleted deleted = versions.write(ResourceVersions.Scope.PROJECT, id, ifMatch, () -> writeTransaction.execute(tx -> {
+            Project project = projectRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Project at " + id + " not found."));
+            project.markDeleted();
+            projectRepository.saveAndFlush(project);
+            statusCounts.deleteFor(id);
+            List<Long> sprintIds = sprintRepository.findIdsByProjectId(id);
+            sprintRepository.markDeletedByProjectId(id);
+            tombstones.record(Tombstone.Type.PROJECT, id, organizationId);
+            PurgeJob job = purges.enqueue(PurgeJob.Target.PROJECT, id, organizationId, sprintIds.size(),
+                    taskRepository.countByProjectId(id));
+            return new Deleted(job, sprintIds);
+        }));
+        versions.bump(ResourceVersions.Scope.ORGANIZATION, organizationId);
+        ownership.evictProject(id);
+        deleted.sprintIds().forEach(ownership::evictSprint);
+        return deleted.job();
     }
 }
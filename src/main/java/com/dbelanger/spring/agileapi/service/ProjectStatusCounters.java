@@ -0,0 +1,113 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.dto.OrganizationOverviewDto;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.ProjectStatusCount;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.repository.ProjectStatusCountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/// Task counts per project and status, kept in `project_status_count` so the organization overview reads four rows
+/// per project instead of counting every task. The task writes adjust them inside their own transaction, so a
+/// counter commits or rolls back with the write that moved it.
+/// Organization totals are summed from the project rows when read rather than stored, so task writes in different
+/// projects never contend on one organization row.
+/// `reconcile` recounts the counters from the tasks each `tasks.status-counts.reconcile-interval-ms` and repairs
+/// any that drifted, e.g. after SQL run outside the application. It takes one project per short transaction and
+/// locks that project's counters before counting: a task write that already moved one commits first and is counted,
+/// and one that comes later waits and adds its delta on top of the recount, so no increment is lost.
+@Component
+public class ProjectStatusCounters {
+
+    private static final int PROJECT_PAGE_SIZE = 500;
+
+    private final ProjectStatusCountRepository counts;
+    private final TransactionTemplate writeTransaction;
+    private final Counter repaired;
+    private final Counter skipped;
+
+    public ProjectStatusCounters(ProjectStatusCountRepository counts, PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.counts = counts;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.repaired = Counter.builder("tasks.status-counts.repaired")
+                .description("Project status counters found wrong and rewritten by reconciliation")
+                .register(meterRegistry);
+        this.skipped = Counter.builder("tasks.status-counts.skipped")
+                .description("Projects left to the next reconciliation because their counters stayed locked")
+                .register(meterRegistry);
+    }
+
+    /// Adds a zero counter for each status of a newly saved project.
+    public void createFor(Project project) {
+        counts.saveAll(Arrays.stream(Task.Status.values())
+                .map(status -> new ProjectStatusCount(project.getId(), status, project.getOrganizationId()))
+                .toList());
+    }
+
+    public void deleteFor(long projectId) {
+        counts.deleteByProjectId(projectId);
+    }
+
+    /// Adds `delta` (negative to remove) to the counter of `status` in the sprint's project.
+    public void add(long sprintId, Task.Status status, long delta) {
+        if (delta != 0) {
+            counts.addForSprint(sprintId, status, delta);
+        }
+    }
+
+    public void add(long sprintId, Map<Task.Status, Long> deltas) {
+        deltas.forEach((status, delta) -> add(sprintId, status, delta));
+    }
+
+    public OrganizationOverviewDto overview(long organizationId) {
+        return OrganizationOverviewDto.from(organizationId, counts.findByOrganizationId(organizationId));
+    }
+
+    /// Recounts every project's counters and returns how many were wrong. The scheduler thread has no signed-in user,
+    /// so this runs as the root tenant and covers every organization.
+    @Scheduled(initialDelayString = "${tasks.status-counts.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${tasks.status-counts.reconcile-interval-ms:3600000}")
+    public int reconcile() {
+        int wrong = 0;
+        long afterId = 0;
+        List<Long> projectIds;
+        do {
+            projectIds = counts.findProjectIdsAfter(afterId, Limit.of(PROJECT_PAGE_SIZE));
+            for (long projectId : projectIds) {
+                wrong += recount(projectId);
+            }
+            if (!projectIds.isEmpty()) {
+                afterId = projectIds.getLast();
+            }
+        } while (projectIds.size() == PROJECT_PAGE_SIZE);
+        repaired.increment(wrong);
+        return wrong;
+    }
+
+    private int recount(long projectId) {
+        try {
+            return writeTransaction.execute(tx -> {
+                counts.lockByProjectId(projectId);
+                return counts.recountProject(projectId);
+            });
+        } catch (PessimisticLockingFailureException e) {
+            // Lock timeout or deadlock against task writes; the write goes through and the next run recounts.
+            skipped.increment();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.PurgeJobRepository;
+import com.dbelanger.spring.agileapi.repository.SprintBurndownDayRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskEventRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/// Background removal of deleted projects and sprints. A delete only marks the row `deleted`, which hides it and
+/// everything under it at once, and queues a `purge_job` in the same transaction. Every `purge.interval-ms`, `run`
+/// removes the rows bottom-up: each sprint's tasks and then its task events in set-based DELETEs of
+/// `purge.chunk-size` rows, one transaction per chunk, then the sprint's burndown and velocity rows and the sprint
+/// itself, and the project last.
+/// Progress is committed with each chunk, so a restart picks up where it stopped. A job that fails keeps its error
+/// and is retried after `purge.retry-backoff-ms`, doubled with each failed attempt; once `purge.max-attempts` have
+/// failed it is `FAILED` and left alone, since a failure that repeats that often won't go away by itself.
+@Service
+public class PurgeService {
+
+    private static final int MAX_ERROR_LENGTH = 255;
+    // Caps the doubling of the backoff, which would otherwise overflow.
+    private static final int MAX_BACKOFF_DOUBLINGS = 16;
+
+    private final PurgeJobRepository jobs;
+    private final ProjectRepository projectRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final TaskEventRepository taskEvents;
+    private final SprintBurndownDayRepository burndownDays;
+    private final SprintVelocities velocities;
+    private final TransactionTemplate writeTransaction;
+    private final int chunkSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Counter tasksPurged;
+    private final Counter failures;
+
+    public PurgeService(PurgeJobRepository jobs,
+                        ProjectRepository projectRepository,
+                        SprintRepository sprintRepository,
+                        TaskRepository taskRepository,
+                        TaskEventRepository taskEvents,
+                        SprintBurndownDayRepository burndownDays,
+                        SprintVelocities velocities,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${purge.chunk-size:1000}") int chunkSize,
+                        @Value("${purge.max-attempts:5}") int maxAttempts,
+                        @Value("${purge.retry-backoff-ms:60000}") long retryBackoffMs) {
+        this.jobs = jobs;
+        this.projectRepository = projectRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.taskEvents = taskEvents;
+        this.burndownDays = burndownDays;
+        this.velocities = velocities;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.tasksPurged = Counter.builder("purge.tasks.deleted")
+                .description("Tasks removed by purge jobs")
+                .register(meterRegistry);
+        this.failures = Counter.builder("purge.jobs.failed")
+                .description("Purge job attempts that failed")
+                .register(meterRegistry);
+    }
+
+    /// Queues the purge of a project or sprint. Must run in the transaction that marks it deleted.
+    public PurgeJob enqueue(PurgeJob.Target target, long targetId, long organizationId, long sprints, long tasks) {
+        return jobs.save(new PurgeJob(target, targetId, organizationId, sprints, tasks, LocalDateTime.now()));
+    }
+
+    /// Needs no caller: `findById` is tenant-scoped, so another organization's job reads as not found.
+    public PurgeJob getPurgeJob(long jobId) {
+        return jobs.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("Purge job at " + jobId + " not found."));
+    }
+
+    /// Runs every unfinished job that is due and returns how many completed. Runs as the root tenant on the
+    /// scheduler thread, so it covers every organization.
+    @Scheduled(initialDelayString = "${purge.interval-ms:5000}", fixedDelayString = "${purge.interval-ms:5000}")
+    public int run() {
+        int completed = 0;
+        for (PurgeJob job : jobs.findDue(LocalDateTime.now())) {
+            if (purge(job)) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    private boolean purge(PurgeJob job) {
+        try {
+            if (job.getTarget() == PurgeJob.Target.PROJECT) {
+                // Again, in case a sprint was created under the project while it was being hidden.
+                sprintRepository.markDeletedByProjectId(job.getTargetId());
+                for (long sprintId : sprintRepository.findIdsByProjectId(job.getTargetId())) {
+                    purgeSprint(job.getId(), sprintId);
+                }
+                writeTransaction.executeWithoutResult(tx -> {
+                    projectRepository.deletePurged(job.getTargetId());
+                    jobs.finish(job.getId(), LocalDateTime.now());
+                });
+            } else {
+                purgeSprint(job.getId(), job.getTargetId());
+                jobs.finish(job.getId(), LocalDateTime.now());
+            }
+            return true;
+        } catch (RuntimeException e) {
+            failures.increment();
+            recordFailure(job, String.valueOf(e.getMessage()));
+            return false;
+        }
+    }
+
+    private void recordFailure(PurgeJob job, String error) {
+        int attempts = job.getAttempts() + 1;
+        LocalDateTime now = LocalDateTime.now();
+        String truncated = error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+        if (attempts >= maxAttempts) {
+            jobs.fail(job.getId(), truncated, now);
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, MAX_BACKOFF_DOUBLINGS));
+        jobs.recordFailure(job.getId(), truncated, now.plus(backoff), now);
+    }
+
+    // Loops until a chunk comes back empty, so a task that slipped in while the sprint was being hidden goes too.
+    private void purgeSprint(long jobId, long sprintId) {
+        int deleted;
+        do {
+            deleted = writeTransaction.execute(tx -> {
+                List<Long> taskIds = taskRepository.findIdsBySprintId(sprintId, Limit.of(chunkSize));
+                if (taskIds.isEmpty()) {
+                    return 0;
+                }
+                int removed = taskRepository.deleteByIdIn(taskIds);
+                jobs.addProgress(jobId, 0, removed, LocalDateTime.now());
+                return removed;
+            });
+            tasksPurged.increment(deleted);
+        } while (deleted > 0);
+
+        do {
+            deleted = writeTransaction.execute(tx -> {
+                List<Long> eventIds = taskEvents.findIdsBySprintId(sprintId, Limit.of(chunkSize));
+                return eventIds.isEmpty() ? 0 : taskEvents.deleteByIdIn(eventIds);
+            });
+        } while (deleted > 0);
+
+        writeTransaction.executeWithoutResult(tx -> {
+            burndownDays.deleteBySprintId(sprintId);
+            velocities.thaw(sprintId);
+            jobs.addProgress(jobId, sprintRepository.deletePurged(sprintId), 0, LocalDateTime.now());
+        });
+    }
+}
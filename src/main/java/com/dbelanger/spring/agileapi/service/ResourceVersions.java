@@ -0,0 +1,124 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.nio.file.AccessDeniedException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dbelanger.spring.agileapi.exception.PreconditionFailedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/// In-memory version counters behind the ETags of projects, sprints and their lists, so a conditional read is
+/// answered without a query. The service write methods bump the version of everything a write changes:
+/// * `SPRINT`: the sprint and its tasks, including the task list.
+/// * `PROJECT`: the project and its sprint list.
+/// * `ORGANIZATION`: its project list.
+///
+/// Versions come from one clock and tags carry a per-process epoch, so a tag never matches again once the
+/// resource has changed, been evicted from here, or the application has restarted.
+@Component
+public class ResourceVersions {
+
+    public enum Scope { ORGANIZATION, PROJECT, SPRINT }
+
+    /// A write that runs while the resource's version is held.
+    @FunctionalInterface
+    public interface Write<T> {
+        T run() throws AccessDeniedException;
+    }
+
+    private record Key(Scope scope, long id) {
+    }
+
+    private final Cache<Key, Long> versions;
+    private final AtomicLong clock = new AtomicLong();
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    // Weakly held, so a resource's lock lives only while some conditional write on it is running.
+    private final Cache<Key, ReentrantLock> locks = Caffeine.newBuilder().weakValues().build();
+    private final Map<Scope, List<LongConsumer>> listeners = new EnumMap<>(Scope.class);
+
+    public ResourceVersions(@Value("${etag.version-cache-size:100000}") long maxSize) {
+        this.versions = Caffeine.newBuilder().maximumSize(maxSize).build();
+        for (Scope scope : Scope.values()) {
+            listeners.put(scope, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /// The current version, as an unquoted strong ETag.
+    public String tag(Scope scope, long id) {
+        return epoch + "-" + Long.toString(version(scope, id), 36);
+    }
+
+    long version(Scope scope, long id) {
+        return versions.get(new Key(scope, id), k -> clock.incrementAndGet());
+    }
+
+    /// Runs `write` and then bumps the resource, refusing with `PreconditionFailedException` if `ifMatch` is given
+    /// and no longer matches. Conditional writes to the same resource run one at a time, so no other conditional
+    /// write can land between the check and this one; other writes take no lock and rely on the rows' `@Version`.
+    public <T> T write(Scope scope, long id, String ifMatch, Write<T> write) throws AccessDeniedException {
+        if (ifMatch == null) {
+            T result = write.run();
+            bump(scope, id);
+            return result;
+        }
+        ReentrantLock lock = locks.get(new Key(scope, id), key -> new ReentrantLock());
+        lock.lock();
+        try {
+            if (!matches(ifMatch, tag(scope, id))) {
+                throw new PreconditionFailedException("The resource has changed since it was read.");
+            }
+            T result = write.run();
+            bump(scope, id);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /// Moves the resource to a new version once the surrounding transaction commits, or now if there is none.
+    public void bump(Scope scope, long id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advance(scope, id);
+                }
+            });
+        } else {
+            advance(scope, id);
+        }
+    }
+
+    /// Calls `listener` with the id of every resource of `scope` that moves to a new version.
+    public void onBump(Scope scope, LongConsumer listener) {
+        listeners.get(scope).add(listener);
+    }
+
+    private void advance(Scope scope, long id) {
+        versions.put(new Key(scope, id), clock.incrementAndGet());
+        listeners.get(scope).forEach(listener -> listener.accept(id));
+    }
+
+    // If-Match uses strong comparison: weak tags never match, "*" matches any existing resource.
+    private static boolean matches(String ifMatch, String tag) {
+        for (String candidate : ifMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || value.equals("\"" + tag + "\"")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,12 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.function.Consumer;
+
+/// A query that has already passed its authorization checks but has not run yet.
+/// `forEach` opens a read-only transaction and hands rows to the sink one at a time,
+/// so callers can stream results without materializing the full list.
+@FunctionalInterface
+public interface RowStream<T> {
+
+    void forEach(Consumer<? super T> sink);
+}
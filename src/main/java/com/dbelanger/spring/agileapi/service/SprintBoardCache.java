@@ -0,0 +1,96 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/// Task list pages of a sprint, kept as the JSON bytes the endpoint sends, so every board polling the same sprint
+/// and query shares one query and one serialization until a task of the sprint changes.
+/// The sprint's version in `ResourceVersions` is part of every key. A task write bumps it once it has committed,
+/// so a page loaded from before the write, even one still loading at the time, is never served again.
+/// Pages are weighed by their size and held to `tasks.board-cache.max-bytes` in total. The keys are also indexed by
+/// sprint, so a bump drops just that sprint's pages.
+@Component
+public class SprintBoardCache {
+
+    /// One task list page as ready-to-send JSON.
+    public record Page(byte[] json, String nextCursor) {
+    }
+
+    private record Key(long sprintId, long version, String variant) {
+    }
+
+    // Approximate bookkeeping cost of an entry beyond its JSON, so many tiny pages still count against the budget.
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final ObjectMapper objectMapper;
+    private final ResourceVersions versions;
+    private final Cache<Key, Page> pages;
+    private final Map<Long, Set<Key>> keysBySprint = new ConcurrentHashMap<>();
+
+    public SprintBoardCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            ResourceVersions versions,
+                            @Value("${tasks.board-cache.max-bytes:67108864}") long maxBytes) {
+        this.objectMapper = objectMapper;
+        this.versions = versions;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Page page) -> page.json().length + key.variant().length() + ENTRY_OVERHEAD_BYTES)
+                .evictionListener((Key key, Page page, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "tasks.board");
+        // Pages of an older version are unreachable already; dropping them returns their bytes to the budget
+        // rather than leaving them to compete with the current pages for it.
+        versions.onBump(ResourceVersions.Scope.SPRINT, this::retire);
+    }
+
+    /// Returns the cached page for this sprint and query, or runs `loader` once for all callers waiting on it.
+    /// The caller must already have authorized access to the sprint.
+    public Page get(long sprintId, String variant, Supplier<CursorPage<TaskResponseDto>> loader) {
+        Key key = new Key(sprintId, versions.version(ResourceVersions.Scope.SPRINT, sprintId), variant);
+        return pages.get(key, k -> {
+            Page page = serialize(loader.get());
+            keysBySprint.computeIfAbsent(sprintId, id -> ConcurrentHashMap.newKeySet()).add(k);
+            return page;
+        });
+    }
+
+    private void retire(long sprintId) {
+        Set<Key> keys = keysBySprint.remove(sprintId);
+        if (keys != null) {
+            pages.invalidateAll(keys);
+        }
+    }
+
+    private void unindex(Key key) {
+        keysBySprint.computeIfPresent(key.sprintId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Page serialize(CursorPage<TaskResponseDto> page) {
+        try {
+            return new Page(objectMapper.writeValueAsBytes(page.items()), page.nextCursor());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task list.", e);
+        }
+    }
+}
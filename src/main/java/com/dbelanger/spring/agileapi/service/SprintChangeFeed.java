@@ -0,0 +1,236 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dbelanger.spring.agileapi.dto.TaskChangeDto;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.exception.OverloadedException;
+import com.dbelanger.spring.agileapi.model.Task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+/// Server-Sent Events of task changes per sprint, published by `TaskService` once a write has committed.
+/// A connection is an async request holding no thread while idle. Each subscriber has its own queue of
+/// `tasks.sse.queue-size` events, written out by a virtual thread that only exists while there is something to send,
+/// so a slow client never delays the publisher or other subscribers. When a subscriber's queue overflows its
+/// pending events are dropped and it is sent `resync` instead, telling it to reload the task list.
+/// At most `tasks.sse.max-connections` streams are open at once; beyond that a subscribe gets 503 with a `Retry-After`
+/// of `tasks.sse.retry-after-seconds`.
+@Component
+public class SprintChangeFeed {
+
+    public static final String CREATED = "task-created";
+    public static final String UPDATED = "task-updated";
+    public static final String DELETED = "task-deleted";
+    public static final String RESYNC = "resync";
+
+    /// Writes one event to a subscriber's connection.
+    @FunctionalInterface
+    interface Sender {
+        void send(SseEmitter.SseEventBuilder event) throws IOException;
+    }
+
+    private record Change(String name, Object data, long publishedAt) {
+    }
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final int queueSize;
+    private final int maxConnections;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final Timer lag;
+    private final Counter resyncs;
+
+    public SprintChangeFeed(MeterRegistry meterRegistry,
+                            @Value("${tasks.sse.queue-size:256}") int queueSize,
+                            @Value("${tasks.sse.max-connections:10000}") int maxConnections,
+                            @Value("${tasks.sse.timeout-ms:1800000}") long timeoutMs,
+                            @Value("${tasks.sse.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.queueSize = queueSize;
+        this.maxConnections = maxConnections;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.lag = Timer.builder("tasks.sse.lag")
+                .description("Time from a task change being published to it being written to a subscriber")
+                .register(meterRegistry);
+        this.resyncs = Counter.builder("tasks.sse.resyncs")
+                .description("Subscribers whose queue overflowed and were told to reload")
+                .register(meterRegistry);
+        Gauge.builder("tasks.sse.connections", connections, AtomicInteger::get)
+                .description("Open task change streams")
+                .register(meterRegistry);
+    }
+
+    /// Opens a stream of the sprint's task changes. The caller must already have authorized access to the sprint.
+    public SseEmitter subscribe(long sprintId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = register(sprintId, emitter::send, emitter::complete);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        return emitter;
+    }
+
+    Subscriber register(long sprintId, Sender sender, Runnable complete) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new OverloadedException("Too many open change streams. Please retry shortly.", retryAfterSeconds);
+        }
+        Subscriber subscriber = new Subscriber(sprintId, sender, complete);
+        subscribers.computeIfAbsent(sprintId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        return subscriber;
+    }
+
+    public void created(long sprintId, Task task) {
+        publish(sprintId, CREATED, new TaskChangeDto(task.getId(), TaskResponseDto.from(task)));
+    }
+
+    public void updated(long sprintId, Task task) {
+        publish(sprintId, UPDATED, new TaskChangeDto(task.getId(), TaskResponseDto.from(task)));
+    }
+
+    public void deleted(long sprintId, long taskId) {
+        publish(sprintId, DELETED, new TaskChangeDto(taskId, null));
+    }
+
+    /// For changes too broad to send task by task, such as bulk updates.
+    public void resync(long sprintId) {
+        Set<Subscriber> listening = subscribers.get(sprintId);
+        if (listening != null) {
+            listening.forEach(Subscriber::resync);
+        }
+    }
+
+    private void publish(long sprintId, String name, Object data) {
+        Set<Subscriber> listening = subscribers.get(sprintId);
+        if (listening != null) {
+            Change change = new Change(name, data, System.nanoTime());
+            listening.forEach(subscriber -> subscriber.offer(change));
+        }
+    }
+
+    /// Keeps idle connections from being cut by proxies, and finds the ones whose client has gone away.
+    @Scheduled(fixedDelayString = "${tasks.sse.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(listening -> listening.forEach(Subscriber::heartbeat));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(listening -> listening.forEach(Subscriber::close));
+        senders.shutdown();
+    }
+
+    private void unsubscribe(long sprintId, Subscriber subscriber) {
+        subscribers.computeIfPresent(sprintId, (id, listening) -> {
+            if (listening.remove(subscriber)) {
+                connections.decrementAndGet();
+            }
+            return listening.isEmpty() ? null : listening;
+        });
+    }
+
+    /// One connection's queue. At most one sender runs per subscriber, so its events go out in order.
+    final class Subscriber {
+
+        private final long sprintId;
+        private final Sender sender;
+        private final Runnable complete;
+        private final ArrayBlockingQueue<Change> queue = new ArrayBlockingQueue<>(queueSize);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean resyncDue = new AtomicBoolean();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(long sprintId, Sender sender, Runnable complete) {
+            this.sprintId = sprintId;
+            this.sender = sender;
+            this.complete = complete;
+        }
+
+        void offer(Change change) {
+            if (resyncDue.get()) {
+                // The reload it is about to be told to do will include this change.
+                return;
+            }
+            if (!queue.offer(change)) {
+                // Everything still queued is superseded by the reload.
+                queue.clear();
+                resyncs.increment();
+                resyncDue.set(true);
+            }
+            schedule();
+        }
+
+        void resync() {
+            queue.clear();
+            resyncDue.set(true);
+            schedule();
+        }
+
+        void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed.get() && sending.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue.getAndSet(false)) {
+                    sender.send(SseEmitter.event().comment("keep-alive"));
+                }
+                if (resyncDue.getAndSet(false)) {
+                    sender.send(SseEmitter.event().name(RESYNC).data("{}", MediaType.APPLICATION_JSON));
+                }
+                Change change;
+                while ((change = queue.poll()) != null) {
+                    sender.send(SseEmitter.event().name(change.name()).data(change.data(), MediaType.APPLICATION_JSON));
+                    lag.record(Duration.ofNanos(System.nanoTime() - change.publishedAt()));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client has gone away or the stream was completed.
+                close();
+                return;
+            } finally {
+                sending.set(false);
+            }
+            if (!queue.isEmpty() || resyncDue.get() || heartbeatDue.get()) {
+                schedule();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                unsubscribe(sprintId, this);
+                complete.run();
+            }
+        }
+    }
+}
@@ -1,81 +1,146 @@
 package com.dbelanger.spring.agileapi.service;
 
-import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintResponseDto;
+import com.dbelanger.spring.agileapi.dto.TaskGroupCountDto;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
 import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.ProjectRepository;
 import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.file.AccessDeniedException;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class SprintService {
 
     private final SprintRepository sprintRepository;
     private final ProjectRepository projectRepository;
-    private final OrganizationService organizationService;
+    private final TaskRepository taskRepository;
+    private final ProjectStatusCounters statusCounts;
+    private final SprintVelocities velocities;
+    private final Tombstones tombstones;
+    private final PurgeService purges;
+    private final OwnershipResolver ownership;
+    private final ResourceVersions versions;
+    private final TransactionTemplate writeTransaction;
 
     public SprintService(SprintRepository sprintRepository,
                          ProjectRepository projectRepository,
-                         OrganizationService organizationService) {
+                         TaskRepository taskRepository,
+                         ProjectStatusCounters statusCounts,
+                         SprintVelocities velocities,
+                         Tombstones tombstones,
+                         PurgeService purges,
+                         OwnershipResolver ownership,
+                         ResourceVersions versions,
+                         PlatformTransactionManager transactionManager) {
         this.sprintRepository = sprintRepository;
         this.projectRepository = projectRepository;
-        this.organizationService = organizationService;
+        this.taskRepository = taskRepository;
+        this.statusCounts = statusCounts;
+        this.velocities = velocities;
+        this.tombstones = tombstones;
+        this.purges = purges;
+        this.ownership = ownership;
+        this.versions = versions;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
-    public List<Sprint> getSprintsByProjectId(long projectId, User user) throws AccessDeniedException {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project at " + projectId + " not found."));
+    /// ETag of the project's sprint list.
+    public String etagOfSprints(long projectId, User user) {
+        ownership.requireOwnProject(projectId, user);
+        return versions.tag(ResourceVersions.Scope.PROJECT, projectId);
+    }
 
-        organizationService.assertUserInOrganization(user, project.getOrganization());
-        return sprintRepository.findAllByProjectId(projectId);
+    public String etagOfSprint(long sprintId, User user) {
+        ownership.requireOwnSprint(sprintId, user);
+        return versions.tag(ResourceVersions.Scope.SPRINT, sprintId);
     }
 
-    public Sprint createSprint(Sprint sprint, long projectId, User user) throws AccessDeniedException {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new IllegalArgumentException("Project at " + projectId + " not found."));
+    public CursorPage<SprintResponseDto> getSprintsByProjectId(long projectId, User user, String after, int limit) throws AccessDeniedException {
+        PageCursors.checkLimit(limit);
+        ownership.requireOwnProject(projectId, user);
+        List<SprintResponseDto> rows = sprintRepository.findPageByProjectId(
+                projectId, PageCursors.decodeId(after), Limit.of(limit + 1));
+        return PageCursors.pageById(rows, limit, row -> row.id);
+    }
 
-        organizationService.assertUserInOrganization(user, project.getOrganization());
+    public Sprint createSprint(Sprint sprint, long projectId, User user) throws AccessDeniedException {
+        long organizationId = ownership.requireOwnProject(projectId, user);
 
-        sprint.setProject(project);
-        return sprintRepository.save(sprint);
+        sprint.setProject(projectRepository.getReferenceById(projectId));
+        sprint.setOrganizationId(organizationId);
+        return versions.write(ResourceVersions.Scope.PROJECT, projectId, null, () -> sprintRepository.save(sprint));
     }
 
     public Sprint getSprintById(long sprintId, User user) throws AccessDeniedException {
         Sprint sprint = sprintRepository.findById(sprintId)
                 .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
-
-        organizationService.assertUserInOrganization(user, sprint.getProject().getOrganization());
         return sprint;
     }
 
-    public Sprint updateSprintById(long sprintId, Sprint updatedSprint, User user) throws AccessDeniedException {
-        Sprint sprint = sprintRepository.findById(sprintId)
-                .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
-
-        organizationService.assertUserInOrganization(user, sprint.getProject().getOrganization());
-
-        if (updatedSprint.getName() != null) {
-            sprint.setName(updatedSprint.getName());
-        }
-        if (updatedSprint.getStartDate() != null) {
-            sprint.setStartDate(updatedSprint.getStartDate());
-        }
-        if (updatedSprint.getEndDate() != null) {
-            sprint.setEndDate(updatedSprint.getEndDate());
-        }
-
-        return sprintRepository.save(sprint);
+    /// `ifMatch`, when given, must match the sprint's current ETag. Read and write share one transaction;
+    /// see `ProjectService.updateProjectById`.
+    public Sprint updateSprintById(long sprintId, Sprint updatedSprint, User user, String ifMatch) throws AccessDeniedException {
+        ownership.requireOwnSprint(sprintId, user);
+        Sprint saved = versions.write(ResourceVersions.Scope.SPRINT, sprintId, ifMatch, () -> writeTransaction.execute(tx -> {
+            Sprint sprint = sprintRepository.findById(sprintId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
+
+            if (updatedSprint.getName() != null) {
+                sprint.setName(updatedSprint.getName());
+            }
+            if (updatedSprint.getStartDate() != null) {
+                sprint.setStartDate(updatedSprint.getStartDate());
+            }
+            if (updatedSprint.getEndDate() != null) {
+                if (!updatedSprint.getEndDate().equals(sprint.getEndDate())) {
+                    velocities.thaw(sprintId);
+                }
+                sprint.setEndDate(updatedSprint.getEndDate());
+            }
+
+            return sprintRepository.saveAndFlush(sprint);
+        }));
+        versions.bump(ResourceVersions.Scope.PROJECT, saved.getProject().getId());
+        return saved;
     }
 
-    public void deleteSprintById(long sprintId, User user) throws AccessDeniedException {
-        Sprint sprint = sprintRepository.findById(sprintId)
-                .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
-
-        organizationService.assertUserInOrganization(user, sprint.getProject().getOrganization());
-        sprintRepository.delete(sprint);
+    /// `ifMatch`, when given, must match the sprint's current ETag. Hides the sprint and its tasks at once, takes
+    /// the tasks off the project's counters and returns the job that removes them; see `PurgeService`.
+    public PurgeJob deleteSprintById(long sprintId, User user, String ifMatch) throws AccessDeniedException {
+        long organizationId = ownership.requireOwnSprint(sprintId, user);
+        record Deleted(PurgeJob job, long projectId) {
+        }
+        Deleted deleted = versions.write(ResourceVersions.Scope.SPRINT, sprintId, ifMatch, () -> writeTransaction.execute(tx -> {
+            Sprint sprint = sprintRepository.findById(sprintId)
+                    .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
+            Map<Task.Status, Long> removed = new EnumMap<>(Task.Status.class);
+            for (TaskGroupCountDto group : taskRepository.countGroupsBySprintId(sprintId)) {
+                removed.merge(group.status, -group.count, Long::sum);
+            }
+            statusCounts.add(sprintId, removed);
+            sprint.markDeleted();
+            sprintRepository.saveAndFlush(sprint);
+            tombstones.record(Tombstone.Type.SPRINT, sprintId, organizationId);
+            long tasks = -removed.values().stream().mapToLong(Long::longValue).sum();
+            PurgeJob job = purges.enqueue(PurgeJob.Target.SPRINT, sprintId, organizationId, 1, tasks);
+            return new Deleted(job, sprint.getProject().getId());
+        }));
+        versions.bump(ResourceVersions.Scope.PROJECT, deleted.projectId());
+        ownership.evictSprint(sprintId);
+        return deleted.job();
     }
 }
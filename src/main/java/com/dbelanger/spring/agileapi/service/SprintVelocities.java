@@ -0,0 +1,63 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
+import com.dbelanger.spring.agileapi.dto.SprintVelocityDto;
+import com.dbelanger.spring.agileapi.repository.SprintVelocityRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/// Completed tasks per sprint for project velocity. Once a sprint's end date has passed, `freeze` stores its count
+/// of DONE tasks in `sprint_velocity`, every `tasks.velocity.freeze-interval-ms`, and that row is what velocity
+/// reports for it from then on: later changes to the sprint's tasks don't alter its history. Sprints that are still
+/// running, or ended since the last freeze, are counted live; there are only ever a few of those.
+@Component
+public class SprintVelocities {
+
+    private final SprintVelocityRepository velocities;
+    private final TaskRepository taskRepository;
+    private final Counter frozen;
+
+    public SprintVelocities(SprintVelocityRepository velocities, TaskRepository taskRepository,
+                            MeterRegistry meterRegistry) {
+        this.velocities = velocities;
+        this.taskRepository = taskRepository;
+        this.frozen = Counter.builder("tasks.velocity.frozen")
+                .description("Sprints whose completed-task count was frozen after their end date")
+                .register(meterRegistry);
+    }
+
+    /// The `count` latest started sprints of the project. The caller must already have authorized access to it.
+    public ProjectVelocityDto recent(long projectId, int count) {
+        List<SprintVelocityDto> sprints = velocities.findRecentByProjectId(projectId, LocalDateTime.now(), Limit.of(count));
+        for (SprintVelocityDto sprint : sprints) {
+            if (!sprint.frozen) {
+                sprint.completedTasks = taskRepository.countDoneBySprintId(sprint.sprintId);
+            }
+        }
+        return ProjectVelocityDto.from(projectId, sprints);
+    }
+
+    /// Freezes every ended sprint that has no row yet and returns how many. Runs as the root tenant on the scheduler
+    /// thread, so it covers every organization.
+    @Scheduled(initialDelayString = "${tasks.velocity.freeze-interval-ms:600000}",
+            fixedDelayString = "${tasks.velocity.freeze-interval-ms:600000}")
+    public int freeze() {
+        int rows = velocities.freezeEndedBefore(LocalDateTime.now());
+        frozen.increment(rows);
+        return rows;
+    }
+
+    /// Drops the sprint's frozen count, so it is counted live again and refrozen after its end date passes.
+    public void thaw(long sprintId) {
+        velocities.deleteBySprintId(sprintId);
+    }
+}
@@ -0,0 +1,68 @@
+package com.dbelanger.spring.agileapi.service;
+
+import com.dbelanger.spring.agileapi.dto.SyncDto;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.ChangeSequence;
+import com.dbelanger.spring.agileapi.repository.OrganizationRepository;
+import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+import com.dbelanger.spring.agileapi.repository.TombstoneRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class SyncService {
+
+    private final ChangeSequence changes;
+    private final OrganizationRepository organizationRepository;
+    private final ProjectRepository projectRepository;
+    private final SprintRepository sprintRepository;
+    private final TaskRepository taskRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public SyncService(ChangeSequence changes,
+                       OrganizationRepository organizationRepository,
+                       ProjectRepository projectRepository,
+                       SprintRepository sprintRepository,
+                       TaskRepository taskRepository,
+                       TombstoneRepository tombstoneRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.changes = changes;
+        this.organizationRepository = organizationRepository;
+        this.projectRepository = projectRepository;
+        this.sprintRepository = sprintRepository;
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /// Everything in the user's organization written or deleted after change `since`, up to the last change every
+    /// earlier one of which has committed. `since` 0, or one below the organization's sync horizon, gets a full
+    /// snapshot; see `Tombstones`.
+    public SyncDto getChangesSince(long since, User user) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative.");
+        }
+        long organizationId = user.getOrganization().getId();
+        // Read before the queries, so nothing they return can still be followed by a smaller value.
+        long upTo = changes.committedUpTo();
+        return readOnlyTransaction.execute(tx -> {
+            long horizon = organizationRepository.findSyncHorizonById(organizationId).orElse(0L);
+            long from = since < horizon ? 0 : since;
+            SyncDto sync = new SyncDto(upTo, from == 0);
+            sync.projects = projectRepository.findChangedBetween(organizationId, from, upTo);
+            sync.sprints = sprintRepository.findChangedBetween(organizationId, from, upTo);
+            sync.tasks = taskRepository.findChangedBetween(organizationId, from, upTo);
+            if (!sync.full) {
+                sync.deleted = tombstoneRepository.findChangedBetween(organizationId, from, upTo).stream()
+                        .map(SyncDto.Deleted::from)
+                        .toList();
+            }
+            return sync;
+        });
+    }
+}
@@ -0,0 +1,143 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.model.SprintBurndownDay;
+import com.dbelanger.spring.agileapi.model.TaskEvent;
+import com.dbelanger.spring.agileapi.repository.SprintBurndownDayRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/// Append-only task history. Task writes hand their events over once they have committed, which only queues them;
+/// `flush` writes the queue every `tasks.events.flush-interval-ms` as JDBC batches and, in the same transaction,
+/// folds it into the per-day burndown buckets. A failed flush keeps its events for the next one.
+/// Events of a sprint deleted since they were queued are discarded, counted as `tasks.events.discarded`: the flush
+/// locks the live sprints of its batch, so a delete either waits for the flush, whose rows the purge then removes, or
+/// commits first and the flush writes nothing for that sprint.
+/// At most `tasks.events.max-pending` events wait; beyond that new ones are dropped and counted as
+/// `tasks.events.dropped`. Events still queued when the process dies are lost, and the burndown lags the writes
+/// by up to one flush interval.
+@Component
+public class TaskEventLog {
+
+    private record Bucket(long sprintId, LocalDate date) {
+    }
+
+    private final TaskEventRepository events;
+    private final SprintBurndownDayRepository burndownDays;
+    private final SprintRepository sprintRepository;
+    private final TransactionTemplate writeTransaction;
+    private final LinkedBlockingQueue<TaskEvent> pending;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter discarded;
+
+    public TaskEventLog(TaskEventRepository events,
+                        SprintBurndownDayRepository burndownDays,
+                        SprintRepository sprintRepository,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${tasks.events.max-pending:100000}") int maxPending) {
+        this.events = events;
+        this.burndownDays = burndownDays;
+        this.sprintRepository = sprintRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.pending = new LinkedBlockingQueue<>(maxPending);
+        this.written = Counter.builder("tasks.events.written")
+                .description("Task events inserted into the event log")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tasks.events.dropped")
+                .description("Task events discarded because the queue was full")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("tasks.events.discarded")
+                .description("Task events not written because their sprint was deleted")
+                .register(meterRegistry);
+        Gauge.builder("tasks.events.pending", pending, LinkedBlockingQueue::size)
+                .description("Task events waiting for the next flush")
+                .register(meterRegistry);
+    }
+
+    /// Queues committed changes for the next flush; never blocks the caller.
+    public void append(Collection<TaskEvent> changes) {
+        for (TaskEvent event : changes) {
+            if (!pending.offer(event)) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /// Writes every queued event whose sprint still exists and returns how many. Runs as the root tenant on the
+    /// scheduler thread, so one flush covers every organization.
+    @Scheduled(initialDelayString = "${tasks.events.flush-interval-ms:1000}",
+            fixedDelayString = "${tasks.events.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        List<TaskEvent> batch = new ArrayList<>();
+        pending.drainTo(batch);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<TaskEvent> kept;
+        try {
+            kept = writeTransaction.execute(tx -> {
+                Set<Long> live = new HashSet<>(sprintRepository.lockLiveIds(
+                        batch.stream().map(TaskEvent::getSprintId).collect(Collectors.toSet())));
+                List<TaskEvent> liveEvents = batch.stream().filter(event -> live.contains(event.getSprintId())).toList();
+                events.saveAll(liveEvents);
+                addToBuckets(liveEvents);
+                return liveEvents;
+            });
+        } catch (RuntimeException e) {
+            // Requeue what fits; the rest is counted as dropped like any overflow.
+            append(batch);
+            throw e;
+        }
+        discarded.increment(batch.size() - kept.size());
+        written.increment(kept.size());
+        return kept.size();
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private void addToBuckets(List<TaskEvent> batch) {
+        Map<Bucket, Long> deltas = new LinkedHashMap<>();
+        Map<Long, Long> organizations = new LinkedHashMap<>();
+        for (TaskEvent event : batch) {
+            long delta = event.remainingDelta();
+            if (delta != 0) {
+                deltas.merge(new Bucket(event.getSprintId(), event.getOccurredAt().toLocalDate()), delta, Long::sum);
+                organizations.put(event.getSprintId(), event.getOrganizationId());
+            }
+        }
+        // Flushes never overlap, so an update that finds no row can insert it without racing another flush.
+        deltas.forEach((bucket, delta) -> {
+            if (burndownDays.addToDay(bucket.sprintId(), bucket.date(), delta) == 0) {
+                burndownDays.save(new SprintBurndownDay(bucket.sprintId(), bucket.date(),
+                        organizations.get(bucket.sprintId()), delta));
+            }
+        });
+    }
+}
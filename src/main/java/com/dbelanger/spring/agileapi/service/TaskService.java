@@ -1,57 +1,189 @@
 package com.dbelanger.spring.agileapi.service;
 
+import com.dbelanger.spring.agileapi.dto.BulkTaskResultDto;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.BurndownDto;
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintSummaryDto;
+import com.dbelanger.spring.agileapi.dto.TaskRequest;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.dto.TaskStateDto;
 import com.dbelanger.spring.agileapi.model.Sprint;
 import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.TaskEvent;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.SprintBurndownDayRepository;
 import com.dbelanger.spring.agileapi.repository.SprintRepository;
 import com.dbelanger.spring.agileapi.repository.TaskRepository;
+import com.dbelanger.spring.agileapi.repository.TaskSpecifications;
 import com.dbelanger.spring.agileapi.repository.UserRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 import java.nio.file.AccessDeniedException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "title", "status", "priority");
+
+    public static final int MAX_BULK_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final SprintRepository sprintRepository;
     private final UserRepository userRepository;
-    private final OrganizationService organizationService;
+    private final OwnershipResolver ownership;
+    private final SprintBoardCache boardCache;
+    private final ResourceVersions versions;
+    private final ProjectStatusCounters statusCounts;
+    private final TaskEventLog eventLog;
+    private final SprintChangeFeed changeFeed;
+    private final Tombstones tombstones;
+    private final SprintBurndownDayRepository burndownDays;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Validator validator;
 
     public TaskService(TaskRepository taskRepository,
                        SprintRepository sprintRepository,
                        UserRepository userRepository,
-                       OrganizationService organizationService) {
+                       OwnershipResolver ownership,
+                       SprintBoardCache boardCache,
+                       ResourceVersions versions,
+                       ProjectStatusCounters statusCounts,
+                       TaskEventLog eventLog,
+                       SprintChangeFeed changeFeed,
+                       Tombstones tombstones,
+                       SprintBurndownDayRepository burndownDays,
+                       PlatformTransactionManager transactionManager,
+                       Validator validator) {
         this.taskRepository = taskRepository;
         this.sprintRepository = sprintRepository;
         this.userRepository = userRepository;
-        this.organizationService = organizationService;
+        this.ownership = ownership;
+        this.boardCache = boardCache;
+        this.versions = versions;
+        this.statusCounts = statusCounts;
+        this.eventLog = eventLog;
+        this.changeFeed = changeFeed;
+        this.tombstones = tombstones;
+        this.burndownDays = burndownDays;
+        this.validator = validator;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
     }
 
-    public List<Task> getTasksBySprintId(long sprintId, User user,
-                                         Task.Status status,
-                                         Integer priority,
-                                         Long assigneeId) throws AccessDeniedException {
-        Sprint sprint = sprintRepository.findById(sprintId)
-                .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
-        organizationService.assertUserInOrganization(user, sprint.getProject().getOrganization());
+    public CursorPage<Task> getTasksBySprintId(long sprintId, User user,
+                                               Task.Status status,
+                                               Integer priority,
+                                               Long assigneeId,
+                                               Sort sort,
+                                               String after,
+                                               int limit) throws AccessDeniedException {
+        PageCursors.checkLimit(limit);
+        ownership.requireOwnSprint(sprintId, user);
+        return findPage(sprintId, status, priority, assigneeId, validatedSort(sort), after, limit);
+    }
+
+    /// ETag of the sprint's task list. Answered from memory once the sprint's ownership is cached.
+    public String etagOfTasks(long sprintId, User user) {
+        ownership.requireOwnSprint(sprintId, user);
+        return versions.tag(ResourceVersions.Scope.SPRINT, sprintId);
+    }
+
+    /// ETag of a single task: the version of its sprint, which every write to the task bumps.
+    public String etagOfTask(long taskId, User user) {
+        return versions.tag(ResourceVersions.Scope.SPRINT, ownership.requireOwnTask(taskId, user));
+    }
+
+    /// Task counts of the sprint by status, priority and assignee, from one grouped query.
+    public SprintSummaryDto getSprintSummary(long sprintId, User user) {
+        ownership.requireOwnSprint(sprintId, user);
+        return SprintSummaryDto.from(sprintId, taskRepository.countGroupsBySprintId(sprintId));
+    }
+
+    /// Same page as `getTasksBySprintId`, as JSON from the sprint board cache. Authorization always runs;
+    /// only the query and serialization are shared, until a write to one of the sprint's tasks retires them.
+    public SprintBoardCache.Page getTaskPage(long sprintId, User user,
+                                             Task.Status status,
+                                             Integer priority,
+                                             Long assigneeId,
+                                             Sort sort,
+                                             String after,
+                                             int limit) throws AccessDeniedException {
+        PageCursors.checkLimit(limit);
+        ownership.requireOwnSprint(sprintId, user);
+
+        Sort order = validatedSort(sort);
+        String variant = status + "|" + priority + "|" + assigneeId + "|" + order + "|" + after + "|" + limit;
+        return boardCache.get(sprintId, variant,
+                () -> findPage(sprintId, status, priority, assigneeId, order, after, limit).map(TaskResponseDto::from));
+    }
+
+    private CursorPage<Task> findPage(long sprintId, Task.Status status, Integer priority, Long assigneeId,
+                                      Sort order, String after, int limit) {
+        String ordering = order.toString();
+        Specification<Task> spec = TaskSpecifications.matching(sprintId, status, priority, assigneeId)
+                .and(TaskSpecifications.seekAfter(order, PageCursors.decode(after, ordering)));
+
+        List<Task> rows = taskRepository.findBy(spec, q -> q.sortBy(order).limit(limit + 1).all());
+        return PageCursors.page(rows, limit, last -> PageCursors.encode(ordering,
+                order.stream().map(o -> TaskSpecifications.sortKeyOf(last, o.getProperty())).toList()));
+    }
+
+    /// Authorizes now; the returned stream runs the export query later, typically on the response-writing thread.
+    public RowStream<TaskResponseDto> streamTasksBySprintId(long sprintId, User user,
+                                                             Task.Status status,
+                                                             Integer priority,
+                                                             Long assigneeId) throws AccessDeniedException {
+        ownership.requireOwnSprint(sprintId, user);
 
-        return taskRepository.findAllBySprintId(sprintId).stream()
-                .filter(t -> status == null || t.getStatus() == status)
-                .filter(t -> priority == null || t.getPriority() == priority)
-                .filter(t -> assigneeId == null || t.getAssignee().getId() == assigneeId)
-                .toList();
+        return sink -> readOnlyTransaction.executeWithoutResult(tx -> {
+            try (Stream<TaskResponseDto> rows = taskRepository.streamBySprintId(sprintId, status, priority, assigneeId)) {
+                rows.forEach(sink);
+            }
+        });
+    }
+
+    // Only whitelisted columns may reach ORDER BY; id is always the final tie-breaker so results are stable.
+    private Sort validatedSort(Sort sort) {
+        Sort requested = sort == null ? Sort.unsorted() : sort;
+        for (Sort.Order order : requested) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort tasks by '" + order.getProperty() + "'.");
+            }
+        }
+        return requested.getOrderFor("id") != null ? requested : requested.and(Sort.by("id"));
     }
 
+    /// A title already used in the sprint is refused by the `uk_task_sprint_title` constraint on insert.
     public Task createTask(Task task, long sprintId, long assigneeId, User user) throws AccessDeniedException {
-        Sprint sprint = sprintRepository.findById(sprintId)
-                .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
-        organizationService.assertUserInOrganization(user, sprint.getProject().getOrganization());
+        long organizationId = ownership.requireOwnSprint(sprintId, user);
+        Sprint sprint = sprintRepository.getReferenceById(sprintId);
 
         User assignee = userRepository.findById(assigneeId)
                 .orElseThrow(() -> new IllegalArgumentException("Assignee user at " + assigneeId + " not found."));
-        organizationService.assertUserInOrganization(user, assignee.getOrganization());
 
         if (task.getStatus() == null) {
             task.setStatus(Task.Status.TO_DO);
@@ -59,57 +191,261 @@ public class TaskService {
         if (task.getPriority() < 1 || task.getPriority() > 5) {
             throw new IllegalArgumentException("Priority must be between 1 and 5.");
         }
-        if (taskRepository.existsByTitleAndSprint_Id(task.getTitle(), sprintId)) {
-            throw new IllegalArgumentException("Task title already exists in this sprint.");
-        }
 
         task.setSprint(sprint);
+        task.setOrganizationId(organizationId);
         task.setAssignee(assignee);
-        return taskRepository.save(task);
+        Task created = versions.write(ResourceVersions.Scope.SPRINT, sprintId, null, () -> writeTransaction.execute(tx -> {
+            Task saved = taskRepository.save(task);
+            statusCounts.add(sprintId, saved.getStatus(), 1);
+            return saved;
+        }));
+        eventLog.append(List.of(event(created, TaskEvent.Kind.CREATED, null, created.getStatus())));
+        changeFeed.created(sprintId, created);
+        return created;
     }
 
-    public Task getTaskById(long taskId, User user) throws AccessDeniedException {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task at " + taskId + " not found."));
-        organizationService.assertUserInOrganization(user, task.getSprint().getProject().getOrganization());
-        return task;
-    }
+    /// Creates every valid item of the batch and reports the rest, position by position.
+    /// Validation costs a fixed number of set-based queries regardless of batch size, and the inserts go out
+    /// in one transaction as JDBC batches. The title check only sorts items into results; if a concurrent create
+    /// takes a title first, `uk_task_sprint_title` fails the whole batch instead.
+    public List<BulkTaskResultDto> createTasks(long sprintId, List<TaskRequest> requests, User user) throws AccessDeniedException {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one task is required.");
+        }
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " tasks can be created at once.");
+        }
+        long organizationId = ownership.requireOwnSprint(sprintId, user);
+        Sprint sprint = sprintRepository.getReferenceById(sprintId);
 
-    public Task updateTaskById(long taskId, Task updatedTask, User user) throws AccessDeniedException {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task at " + taskId + " not found."));
-        organizationService.assertUserInOrganization(user, task.getSprint().getProject().getOrganization());
+        Set<Long> assigneeIds = requests.stream()
+                .filter(Objects::nonNull).map(r -> r.assigneeId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> titles = requests.stream()
+                .filter(Objects::nonNull).map(r -> r.title).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownAssignees = assigneeIds.isEmpty() ? Set.of()
+                : userRepository.findIdsInOrganization(assigneeIds, organizationId);
+        Set<String> takenTitles = titles.isEmpty() ? Set.of()
+                : taskRepository.findTitlesInSprint(sprintId, titles);
 
-        if (updatedTask.getTitle() != null) {
-            task.setTitle(updatedTask.getTitle());
+        BulkTaskResultDto[] results = new BulkTaskResultDto[requests.size()];
+        List<Task> accepted = new ArrayList<>();
+        List<Integer> acceptedAt = new ArrayList<>();
+        Set<String> batchTitles = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest req = requests.get(i);
+            String error = rejectionOf(req, knownAssignees, takenTitles, batchTitles);
+            if (error != null) {
+                results[i] = BulkTaskResultDto.failed(i, error);
+                continue;
+            }
+            Task task = new Task();
+            task.setTitle(req.title);
+            task.setDescription(req.description);
+            task.setStatus(req.status != null ? req.status : Task.Status.TO_DO);
+            task.setPriority(req.priority);
+            task.setSprint(sprint);
+            task.setOrganizationId(organizationId);
+            task.setAssignee(userRepository.getReferenceById(req.assigneeId));
+            accepted.add(task);
+            acceptedAt.add(i);
         }
-        if (updatedTask.getDescription() != null) {
-            task.setDescription(updatedTask.getDescription());
+
+        if (!accepted.isEmpty()) {
+            Map<Task.Status, Long> added = accepted.stream()
+                    .collect(Collectors.groupingBy(Task::getStatus, () -> new EnumMap<>(Task.Status.class), Collectors.counting()));
+            List<Task> saved = versions.write(ResourceVersions.Scope.SPRINT, sprintId, null, () -> writeTransaction.execute(tx -> {
+                List<Task> inserted = taskRepository.saveAll(accepted);
+                statusCounts.add(sprintId, added);
+                return inserted;
+            }));
+            for (int j = 0; j < saved.size(); j++) {
+                int index = acceptedAt.get(j);
+                results[index] = BulkTaskResultDto.created(index, TaskResponseDto.from(saved.get(j)));
+            }
+            eventLog.append(saved.stream()
+                    .map(task -> event(task, TaskEvent.Kind.CREATED, null, task.getStatus()))
+                    .toList());
+            saved.forEach(task -> changeFeed.created(sprintId, task));
+        }
+        return Arrays.asList(results);
+    }
+
+    private String rejectionOf(TaskRequest req, Set<Long> knownAssignees, Set<String> takenTitles, Set<String> batchTitles) {
+        if (req == null) {
+            return "Task is required.";
+        }
+        Set<ConstraintViolation<TaskRequest>> violations = validator.validate(req);
+        if (!violations.isEmpty()) {
+            return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
         }
-        if (updatedTask.getStatus() != null) {
-            task.setStatus(updatedTask.getStatus());
+        if (!knownAssignees.contains(req.assigneeId)) {
+            return "Assignee user at " + req.assigneeId + " not found.";
         }
-        if (updatedTask.getPriority() != 0) {
-            if (updatedTask.getPriority() < 1 || updatedTask.getPriority() > 5) {
-                throw new IllegalArgumentException("Priority must be between 1 and 5.");
+        if (takenTitles.contains(req.title) || !batchTitles.add(req.title)) {
+            return "Task title already exists in this sprint.";
+        }
+        return null;
+    }
+
+    /// Set-based counterpart of `updateTaskById`: one tenant-scoped UPDATE over the sprint's matching tasks,
+    /// with the same priority and assignee rules. Returns the number of tasks changed.
+    /// The matching tasks are read and locked first, in the same transaction, to move their status counters and to
+    /// record an event for each value that actually changes; the UPDATE then covers exactly those tasks. A PATCH
+    /// that commits before the read is seen by it, and one that comes later waits for this transaction.
+    /// `ifMatch`, when given, must match the sprint's current ETag.
+    public int updateTasks(long sprintId, BulkTaskUpdateRequest req, User user, String ifMatch) throws AccessDeniedException {
+        BulkTaskUpdateRequest.Changes changes = req.set;
+        if (changes == null || (changes.status == null && changes.priority == null && changes.assigneeId == null)) {
+            throw new IllegalArgumentException("At least one field to change is required.");
+        }
+        BulkTaskUpdateRequest.Filter filter = req.filter != null ? req.filter : new BulkTaskUpdateRequest.Filter();
+
+        long organizationId = ownership.requireOwnSprint(sprintId, user);
+
+        if (changes.priority != null && (changes.priority < 1 || changes.priority > 5)) {
+            throw new IllegalArgumentException("Priority must be between 1 and 5.");
+        }
+        if (changes.assigneeId != null) {
+            long newAssigneeId = changes.assigneeId;
+            if (!userRepository.existsById(newAssigneeId)) {
+                throw new IllegalArgumentException("Assignee user at " + newAssigneeId + " not found.");
             }
-            task.setPriority(updatedTask.getPriority());
         }
-        if (updatedTask.getAssignee() != null && updatedTask.getAssignee().getId() != 0) {
-            long newAssigneeId = updatedTask.getAssignee().getId();
-            User assignee = userRepository.findById(newAssigneeId)
-                    .orElseThrow(() -> new IllegalArgumentException("Assignee user at " + newAssigneeId + " not found."));
-            organizationService.assertUserInOrganization(user, assignee.getOrganization());
-            task.setAssignee(assignee);
+        if (filter.ids != null && filter.ids.isEmpty()) {
+            return 0;
         }
 
-        return taskRepository.save(task);
+        Specification<Task> where = TaskSpecifications.matching(sprintId, filter.status, filter.priority, filter.assigneeId)
+                .and(TaskSpecifications.idIn(filter.ids));
+        List<TaskEvent> changed = new ArrayList<>();
+        int updated = versions.write(ResourceVersions.Scope.SPRINT, sprintId, ifMatch, () -> writeTransaction.execute(tx -> {
+            Map<Task.Status, Long> moved = new EnumMap<>(Task.Status.class);
+            LocalDateTime now = LocalDateTime.now();
+            List<TaskStateDto> matched = taskRepository.findStatesMatching(where);
+            if (matched.isEmpty()) {
+                return 0;
+            }
+            for (TaskStateDto task : matched) {
+                if (changes.status != null && changes.status != task.status) {
+                    moved.merge(task.status, -1L, Long::sum);
+                    moved.merge(changes.status, 1L, Long::sum);
+                    changed.add(new TaskEvent(organizationId, sprintId, task.id, now,
+                            TaskEvent.Kind.STATUS, task.status, changes.status));
+                }
+                if (changes.priority != null && changes.priority != task.priority) {
+                    changed.add(new TaskEvent(organizationId, sprintId, task.id, now,
+                            TaskEvent.Kind.PRIORITY, task.priority, changes.priority));
+                }
+                if (changes.assigneeId != null && !changes.assigneeId.equals(task.assigneeId)) {
+                    changed.add(new TaskEvent(organizationId, sprintId, task.id, now,
+                            TaskEvent.Kind.ASSIGNEE, task.assigneeId, changes.assigneeId));
+                }
+            }
+            statusCounts.add(sprintId, moved);
+            // By id, not by filter: a task that entered the filter after the read must not change uncounted.
+            List<Long> ids = matched.stream().map(task -> task.id).toList();
+            return taskRepository.updateMatching(organizationId,
+                    TaskSpecifications.inSprint(sprintId).and(TaskSpecifications.idIn(ids)),
+                    changes.status, changes.priority, changes.assigneeId);
+        }));
+        eventLog.append(changed);
+        if (updated > 0) {
+            changeFeed.resync(sprintId);
+        }
+        return updated;
     }
 
-    public void deleteTaskById(long taskId, User user) throws AccessDeniedException {
+    public Task getTaskById(long taskId, User user) throws AccessDeniedException {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new IllegalArgumentException("Task at " + taskId + " not found."));
-        organizationService.assertUserInOrganization(user, task.getSprint().getProject().getOrganization());
-        taskRepository.delete(task);
+        return task;
+    }
+
+    /// `ifMatch`, when given, must match the task's current ETag. Read and write share one transaction;
+    /// see `ProjectService.updateProjectById`.
+    public Task updateTaskById(long taskId, Task updatedTask, User user, String ifMatch) throws AccessDeniedException {
+        long sprintId = ownership.requireOwnTask(taskId, user);
+        List<TaskEvent> changed = new ArrayList<>();
+        Task saved = versions.write(ResourceVersions.Scope.SPRINT, sprintId, ifMatch, () -> writeTransaction.execute(tx -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalArgumentException("Task at " + taskId + " not found."));
+
+            if (updatedTask.getTitle() != null) {
+                task.setTitle(updatedTask.getTitle());
+            }
+            if (updatedTask.getDescription() != null) {
+                task.setDescription(updatedTask.getDescription());
+            }
+            if (updatedTask.getStatus() != null && updatedTask.getStatus() != task.getStatus()) {
+                statusCounts.add(sprintId, task.getStatus(), -1);
+                statusCounts.add(sprintId, updatedTask.getStatus(), 1);
+                changed.add(event(task, TaskEvent.Kind.STATUS, task.getStatus(), updatedTask.getStatus()));
+                task.setStatus(updatedTask.getStatus());
+            }
+            if (updatedTask.getPriority() != 0) {
+                if (updatedTask.getPriority() < 1 || updatedTask.getPriority() > 5) {
+                    throw new IllegalArgumentException("Priority must be between 1 and 5.");
+                }
+                if (updatedTask.getPriority() != task.getPriority()) {
+                    changed.add(event(task, TaskEvent.Kind.PRIORITY, task.getPriority(), updatedTask.getPriority()));
+                }
+                task.setPriority(updatedTask.getPriority());
+            }
+            if (updatedTask.getAssignee() != null && updatedTask.getAssignee().getId() != 0) {
+                long newAssigneeId = updatedTask.getAssignee().getId();
+                User assignee = userRepository.findById(newAssigneeId)
+                        .orElseThrow(() -> new IllegalArgumentException("Assignee user at " + newAssigneeId + " not found."));
+                Long oldAssigneeId = task.getAssignee() == null ? null : task.getAssignee().getId();
+                if (oldAssigneeId == null || oldAssigneeId != newAssigneeId) {
+                    changed.add(event(task, TaskEvent.Kind.ASSIGNEE, oldAssigneeId, newAssigneeId));
+                }
+                task.setAssignee(assignee);
+            }
+
+            return taskRepository.saveAndFlush(task);
+        }));
+        eventLog.append(changed);
+        changeFeed.updated(sprintId, saved);
+        return saved;
+    }
+
+    /// `ifMatch`, when given, must match the task's current ETag.
+    public void deleteTaskById(long taskId, User user, String ifMatch) throws AccessDeniedException {
+        long sprintId = ownership.requireOwnTask(taskId, user);
+        TaskEvent deleted = versions.write(ResourceVersions.Scope.SPRINT, sprintId, ifMatch, () -> writeTransaction.execute(tx -> {
+            Task task = taskRepository.findById(taskId)
+                    .orElseThrow(() -> new IllegalArgumentException("Task at " + taskId + " not found."));
+            taskRepository.delete(task);
+            taskRepository.flush();
+            statusCounts.add(sprintId, task.getStatus(), -1);
+            tombstones.record(Tombstone.Type.TASK, taskId, task.getOrganizationId());
+            return event(task, TaskEvent.Kind.DELETED, task.getStatus(), null);
+        }));
+        eventLog.append(List.of(deleted));
+        changeFeed.deleted(sprintId, taskId);
+        ownership.evictTask(taskId);
+    }
+
+    /// Opens the sprint's task change stream; see `SprintChangeFeed`.
+    public SseEmitter subscribeToChanges(long sprintId, User user) {
+        ownership.requireOwnSprint(sprintId, user);
+        return changeFeed.subscribe(sprintId);
+    }
+
+    /// Remaining open (not DONE) tasks of the sprint at the end of each day, from its start to its end or today,
+    /// summed from the per-day buckets the event log keeps rather than from the events themselves.
+    public BurndownDto getBurndown(long sprintId, User user) {
+        ownership.requireOwnSprint(sprintId, user);
+        Sprint sprint = sprintRepository.findById(sprintId)
+                .orElseThrow(() -> new IllegalArgumentException("Sprint at " + sprintId + " not found."));
+        return BurndownDto.from(sprint, burndownDays.findBySprintId(sprintId), LocalDate.now());
+    }
+
+    private static TaskEvent event(Task task, TaskEvent.Kind kind, Object oldValue, Object newValue) {
+        return new TaskEvent(task.getOrganizationId(), task.getSprint().getId(), task.getId(), LocalDateTime.now(),
+                kind, oldValue, newValue);
     }
 }
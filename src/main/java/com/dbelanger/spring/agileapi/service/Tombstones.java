@@ -0,0 +1,61 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.model.Tombstone;
+import com.dbelanger.spring.agileapi.repository.ChangeSequence;
+import com.dbelanger.spring.agileapi.repository.TombstoneRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/// Tombstones of deleted projects, sprints and tasks, so delta sync can report deletes. The service delete methods
+/// record one in the deleting transaction, stamped with its change sequence value. Every `sync.compact-interval-ms`,
+/// `compact` drops those older than `sync.tombstone-retention-days`, after raising the sync horizon of each
+/// organization they belong to; a client that last synced below its organization's horizon gets a full snapshot.
+@Component
+public class Tombstones {
+
+    private final TombstoneRepository tombstones;
+    private final ChangeSequence changes;
+    private final TransactionTemplate writeTransaction;
+    private final long retentionDays;
+    private final Counter compacted;
+
+    public Tombstones(TombstoneRepository tombstones, ChangeSequence changes,
+                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                      @Value("${sync.tombstone-retention-days:30}") long retentionDays) {
+        this.tombstones = tombstones;
+        this.changes = changes;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.compacted = Counter.builder("sync.tombstones.compacted")
+                .description("Tombstones dropped after the sync retention window")
+                .register(meterRegistry);
+    }
+
+    /// Must run in the transaction that deletes the entity.
+    public void record(Tombstone.Type type, long entityId, long organizationId) {
+        tombstones.save(new Tombstone(type, entityId, organizationId, changes.current(), LocalDateTime.now()));
+    }
+
+    /// Drops the tombstones past the retention window and returns how many. Runs as the root tenant on the scheduler
+    /// thread, so it covers every organization.
+    @Scheduled(initialDelayString = "${sync.compact-interval-ms:3600000}",
+            fixedDelayString = "${sync.compact-interval-ms:3600000}")
+    public int compact() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int removed = writeTransaction.execute(tx -> {
+            tombstones.raiseSyncHorizons(cutoff);
+            return tombstones.deleteDeletedBefore(cutoff);
+        });
+        compacted.increment(removed);
+        return removed;
+    }
+}
@@ -1,27 +1,44 @@
 package com.dbelanger.spring.agileapi.service;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.UserResponseDto;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.UserRepository;
+import com.dbelanger.spring.agileapi.security.UserPrincipalCache;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.nio.file.AccessDeniedException;
+import java.util.List;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final OrganizationService organizationService;
+    private final UserPrincipalCache userPrincipalCache;
 
-    public UserService(UserRepository userRepository, OrganizationService organizationService) {
+    public UserService(UserRepository userRepository,
+                       OrganizationService organizationService,
+                       UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
         this.organizationService = organizationService;
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    public CursorPage<UserResponseDto> getUsersByOrganizationId(long orgId, User requestingUser, String after, int limit) throws AccessDeniedException {
+        PageCursors.checkLimit(limit);
+        organizationService.assertUserInOrganization(requestingUser, orgId);
+        List<UserResponseDto> rows = userRepository.findPageByOrganizationId(
+                orgId, PageCursors.decodeId(after), Limit.of(limit + 1));
+        return PageCursors.pageById(rows, limit, row -> row.id);
     }
 
     public User getUserById(long targetUserId, User requestingUser) throws AccessDeniedException {
-        User targetUser = userRepository.findById(targetUserId)
+        // The principal cache is shared across tenants, so a hit still has to be checked against the caller's organization.
+        User targetUser = userPrincipalCache.findUser(targetUserId)
+                .filter(u -> u.getOrganization().getId() == requestingUser.getOrganization().getId())
                 .orElseThrow(() -> new IllegalArgumentException("User at " + targetUserId + " not found."));
-
-        organizationService.assertUserInOrganization(requestingUser, targetUser.getOrganization());
         return targetUser;
     }
 
@@ -29,8 +46,6 @@ public class UserService {
         User targetUser = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User at " + targetUserId + " not found."));
 
-        organizationService.assertUserInOrganization(requestingUser, targetUser.getOrganization());
-
         if (requestingUser.getId() != targetUser.getId()) {
             throw new AccessDeniedException("You cannot modify another user's account.");
         }
@@ -44,15 +59,17 @@ public class UserService {
         }
 
 
-        return userRepository.save(targetUser);
+        User saved = userRepository.save(targetUser);
+        userPrincipalCache.evict(targetUserId);
+        return saved;
     }
 
     public void deleteUserById(long targetUserId, User requestingUser) throws AccessDeniedException {
         User targetUser = userRepository.findById(targetUserId)
                 .orElseThrow(() -> new IllegalArgumentException("User at " + targetUserId + " not found."));
 
-        organizationService.assertUserInOrganization(requestingUser, targetUser.getOrganization());
-
         userRepository.delete(targetUser);
+        // With the row gone every instance rejects the user's tokens; this one stops trusting its cache right away.
+        userPrincipalCache.evict(targetUserId);
     }
 }
@@ -0,0 +1,2 @@
+-- Tokens carry the epoch they were issued at; bumping a user's token_epoch revokes every token issued before it.
+alter table app_user add column token_epoch bigint default 0 not null;
@@ -0,0 +1,5 @@
+-- A failed purge attempt is retried after a backoff that doubles with each attempt; after purge.max-attempts failed
+-- attempts the job is FAILED and no longer run, keeping its last error.
+alter table purge_job add column attempts integer default 0 not null;
+alter table purge_job add column next_attempt_at timestamp(6);
+alter table purge_job alter column status enum ('PENDING', 'RUNNING', 'DONE', 'FAILED') not null;
@@ -0,0 +1,4 @@
+-- Row versions for optimistic locking: every UPDATE/DELETE of these rows checks and bumps the version it read.
+alter table project add column version bigint default 0 not null;
+alter table sprint add column version bigint default 0 not null;
+alter table task add column version bigint default 0 not null;
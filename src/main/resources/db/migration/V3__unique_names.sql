@@ -0,0 +1,11 @@
+-- Names are unique within their parent, enforced by the database so concurrent creates cannot both pass a pre-check.
+-- Each unique constraint's index takes over the lookups of the plain index it replaces.
+-- Fails on a database that already holds duplicates: rename them first.
+drop index idx_project_organization_name;
+alter table project add constraint uk_project_organization_name unique (organization_id, name);
+
+drop index idx_sprint_project_name;
+alter table sprint add constraint uk_sprint_project_name unique (project_id, name);
+
+drop index idx_task_sprint_title;
+alter table task add constraint uk_task_sprint_title unique (sprint_id, title);
@@ -0,0 +1,22 @@
+-- Task counts per project and status, maintained by the task writes in the same transaction and repaired by
+-- ProjectStatusCounters.reconcile. Every project has one row per status from its creation on.
+create table project_status_count (
+    project_id       bigint not null,
+    status           enum ('BLOCKED', 'DONE', 'IN_PROGRESS', 'TO_DO') not null,
+    organization_id  bigint not null,
+    task_count       bigint default 0 not null,
+    constraint pk_project_status_count primary key (project_id, status)
+);
+
+-- Organization overview: every counter of the organization's projects, in project order.
+create index idx_project_status_count_organization on project_status_count (organization_id, project_id);
+
+alter table project_status_count add constraint fk_project_status_count_project foreign key (project_id) references project (id);
+
+-- Counters for the projects that already exist.
+insert into project_status_count (project_id, status, organization_id, task_count)
+select p.id, s.status, p.organization_id,
+       (select count(*) from task t join sprint sp on sp.id = t.sprint_id
+        where sp.project_id = p.id and t.status = s.status)
+from project p
+cross join (values ('TO_DO'), ('IN_PROGRESS'), ('DONE'), ('BLOCKED')) as s (status);
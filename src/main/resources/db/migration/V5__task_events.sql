@@ -0,0 +1,31 @@
+-- Append-only history of task changes, inserted in batches by TaskEventLog.
+create sequence task_event_seq start with 1 increment by 50;
+
+create table task_event (
+    id               bigint not null,
+    organization_id  bigint not null,
+    sprint_id        bigint not null,
+    task_id          bigint not null,
+    occurred_at      timestamp(6) not null,
+    kind             enum ('ASSIGNEE', 'CREATED', 'DELETED', 'PRIORITY', 'STATUS') not null,
+    old_value        varchar(16),
+    new_value        varchar(16),
+    constraint pk_task_event primary key (id)
+);
+
+-- Net change in a sprint's open (not DONE) tasks per day, folded in from task_event as it is written.
+-- The burndown is the running sum of these rows.
+create table sprint_burndown_day (
+    sprint_id        bigint not null,
+    bucket_date      date not null,
+    organization_id  bigint not null,
+    remaining_delta  bigint default 0 not null,
+    constraint pk_sprint_burndown_day primary key (sprint_id, bucket_date)
+);
+
+-- Tasks that already exist have no history; they count as opened on the day of the migration.
+insert into sprint_burndown_day (sprint_id, bucket_date, organization_id, remaining_delta)
+select s.id, current_date, s.organization_id, count(t.id)
+from sprint s
+left join task t on t.sprint_id = s.id and t.status <> 'DONE'
+group by s.id, s.organization_id;
@@ -0,0 +1,15 @@
+-- Completed-task count of each sprint, written once by SprintVelocities after the sprint's end date has passed
+-- and never recomputed afterwards.
+create table sprint_velocity (
+    sprint_id        bigint not null,
+    organization_id  bigint not null,
+    project_id       bigint not null,
+    completed_tasks  bigint not null,
+    frozen_at        timestamp(6) not null,
+    constraint pk_sprint_velocity primary key (sprint_id)
+);
+
+alter table sprint_velocity add constraint fk_sprint_velocity_sprint foreign key (sprint_id) references sprint (id);
+
+-- Freezing looks up the sprints that have ended.
+create index idx_sprint_end_date on sprint (end_date);
@@ -0,0 +1,34 @@
+-- Change sequence for delta sync (GET /sync): each transaction that writes projects, sprints or tasks stamps every
+-- row it writes with one value of it. ChangeSequence hands the values out in blocks of 50 starting at the value read.
+create sequence change_seq start with 2 increment by 50;
+
+-- Rows written before this migration all count as change 1.
+alter table project add column change_seq bigint default 1 not null;
+alter table sprint add column change_seq bigint default 1 not null;
+alter table task add column change_seq bigint default 1 not null;
+
+-- An organization's rows changed within a range of the sequence.
+create index idx_project_organization_change_seq on project (organization_id, change_seq);
+create index idx_sprint_organization_change_seq on sprint (organization_id, change_seq);
+create index idx_task_organization_change_seq on task (organization_id, change_seq);
+
+-- Deleted projects, sprints and tasks, kept for sync.tombstone-retention-days so sync can report them.
+create table tombstone (
+    entity_type      enum ('PROJECT', 'SPRINT', 'TASK') not null,
+    entity_id        bigint not null,
+    organization_id  bigint not null,
+    change_seq       bigint not null,
+    deleted_at       timestamp(6) not null,
+    constraint pk_tombstone primary key (entity_type, entity_id)
+);
+
+-- An organization's deletes within a range of the sequence.
+create index idx_tombstone_organization_change_seq on tombstone (organization_id, change_seq);
+-- Compaction.
+create index idx_tombstone_deleted_at on tombstone (deleted_at);
+
+alter table tombstone add constraint fk_tombstone_organization foreign key (organization_id) references organization (id);
+
+-- Highest change_seq among an organization's compacted tombstones. A client that last synced below it may have
+-- missed deletes, so it is sent a full snapshot instead.
+alter table organization add column sync_horizon bigint default 0 not null;
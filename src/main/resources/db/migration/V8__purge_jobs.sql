@@ -0,0 +1,36 @@
+-- Deleting a project or sprint sets `deleted`, which hides it (and, for a project, each of its sprints) at once;
+-- the rows and everything under them are removed later by PurgeService.
+alter table project add column deleted boolean default false not null;
+alter table sprint add column deleted boolean default false not null;
+
+-- Names stay unique among the rows that are not deleted, so a name is free again as soon as its holder is deleted.
+-- live_name is null on deleted rows, and nulls never collide in a unique constraint.
+alter table project add column live_name varchar(255) generated always as (case when deleted then null else name end);
+alter table project drop constraint uk_project_organization_name;
+alter table project add constraint uk_project_organization_name unique (organization_id, live_name);
+
+alter table sprint add column live_name varchar(255) generated always as (case when deleted then null else name end);
+alter table sprint drop constraint uk_sprint_project_name;
+alter table sprint add constraint uk_sprint_project_name unique (project_id, live_name);
+
+-- One row per deleted project or sprint still being purged, or purged; GET /purge-jobs/{id} reports its progress.
+create table purge_job (
+    id               bigint generated by default as identity,
+    organization_id  bigint not null,
+    target_type      enum ('PROJECT', 'SPRINT') not null,
+    target_id        bigint not null,
+    status           enum ('PENDING', 'RUNNING', 'DONE') not null,
+    sprints_total    bigint not null,
+    sprints_deleted  bigint default 0 not null,
+    tasks_total      bigint not null,
+    tasks_deleted    bigint default 0 not null,
+    created_at       timestamp(6) not null,
+    updated_at       timestamp(6) not null,
+    error            varchar(255),
+    constraint pk_purge_job primary key (id)
+);
+
+-- The jobs left to run.
+create index idx_purge_job_status on purge_job (status, id);
+
+alter table purge_job add constraint fk_purge_job_organization foreign key (organization_id) references organization (id);
@@ -0,0 +1,2 @@
+-- Purging a sprint removes its events in chunks, found by sprint.
+create index idx_task_event_sprint_id on task_event (sprint_id, id);
@@ -0,0 +1,107 @@
+package com.dbelanger.spring.agileapi;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.UserRepository;
+import com.dbelanger.spring.agileapi.service.OrganizationService;
+import com.dbelanger.spring.agileapi.service.ProjectService;
+import com.dbelanger.spring.agileapi.service.SprintService;
+import com.dbelanger.spring.agileapi.service.TaskService;
+
+/// Base of the tests that run the services against the Flyway schema. They share one application context and one
+/// in-memory database, so each test gets an organization of its own, signed in as its `user`, with the project
+/// "Apollo" already created, and must not assume the tables hold only its rows.
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class IntegrationTest {
+
+    private static final AtomicLong ORGANIZATIONS = new AtomicLong();
+
+    @Autowired
+    protected OrganizationService organizationService;
+    @Autowired
+    protected ProjectService projectService;
+    @Autowired
+    protected SprintService sprintService;
+    @Autowired
+    protected TaskService taskService;
+    @Autowired
+    protected UserRepository userRepository;
+
+    protected Organization organization;
+    protected User user;
+    protected Project project;
+
+    @BeforeEach
+    void signInToNewOrganization() throws Exception {
+        organization = newOrganization();
+        user = newUser(organization);
+        signIn(user);
+        project = projectService.createNewProject(new Project(0, "Apollo", null, organization), user);
+    }
+
+    @AfterEach
+    void signOut() {
+        SecurityContextHolder.clearContext();
+    }
+
+    protected Organization newOrganization() {
+        String slug = "org-" + ORGANIZATIONS.incrementAndGet() + "-" + System.nanoTime();
+        return organizationService.createOrganization(slug, slug);
+    }
+
+    /// Saved as the root tenant, since no signed-in user may save another organization's rows.
+    protected User newUser(Organization organization) throws Exception {
+        String email = organization.getSlug() + "-" + System.nanoTime() + "@example.com";
+        return asRootTenant(() -> userRepository.save(new User(0, email, "hash", "Test User", organization)));
+    }
+
+    protected static void signIn(User user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    /// Runs `work` with no one signed in, like the scheduled jobs, which then see every organization.
+    protected static <T> T asRootTenant(Callable<T> work) throws Exception {
+        Authentication signedIn = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        try {
+            return work.call();
+        } finally {
+            SecurityContextHolder.getContext().setAuthentication(signedIn);
+        }
+    }
+
+    protected Sprint sprint(String name) throws Exception {
+        return sprint(name, LocalDateTime.now(), LocalDateTime.now().plusWeeks(2));
+    }
+
+    protected Sprint sprint(String name, LocalDateTime start, LocalDateTime end) throws Exception {
+        return sprintService.createSprint(new Sprint(0, name, start, end, null), project.getId(), user);
+    }
+
+    protected Task task(Sprint sprint, String title) throws Exception {
+        return task(sprint, title, Task.Status.TO_DO);
+    }
+
+    protected Task task(Sprint sprint, String title, Task.Status status) throws Exception {
+        return taskService.createTask(new Task(0, title, null, status, 2, null, null), sprint.getId(), user.getId(), user);
+    }
+}
@@ -11,7 +11,6 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.dbelanger.spring.agileapi.model.Organization;
@@ -30,7 +29,7 @@ class AuthServiceTest {
     @Mock
     private JwtService jwtService;
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private AuthService authService;
@@ -45,7 +44,7 @@ class AuthServiceTest {
         // Mock: slug doesn't exist yet (user is creating new org)
         when(organizationRepository.existsBySlug("acme")).thenReturn(false);
         when(userRepository.existsByEmail("test@example.com")).thenReturn(false);
-        when(passwordEncoder.encode("pwd")).thenReturn("ENC");
+        when(passwordHasher.encode("pwd")).thenReturn("ENC");
         
         // Mock: save organization first
         when(organizationRepository.save(any(Organization.class))).thenAnswer(inv -> {
@@ -73,7 +72,7 @@ class AuthServiceTest {
         org.setId(10L);
         User user = new User(99L, "test@example.com", "ENC", "Tester", org);
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches("pwd", user.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.matches("pwd", user.getPasswordHash())).thenReturn(true);
         when(jwtService.generateToken(user)).thenReturn("tok2");
 
         AuthService.AuthResponse resp = authService.login("test@example.com", "pwd");
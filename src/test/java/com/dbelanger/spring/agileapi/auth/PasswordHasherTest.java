@@ -0,0 +1,78 @@
+package com.dbelanger.spring.agileapi.auth;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.dbelanger.spring.agileapi.exception.OverloadedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void encodesAndMatchesOnPool() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(new PlainEncoder(null), registry, 1, 4, 5000, 2);
+
+        assertThat(hasher.encode("pwd")).isEqualTo("{plain}pwd");
+        assertThat(hasher.matches("pwd", "{plain}pwd")).isTrue();
+        assertThat(registry.get("auth.password.hash").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(new PlainEncoder(release), registry, 1, 1, 5000, 7);
+
+        // one call occupies the worker, one waits in the queue
+        Thread busy = Thread.ofVirtual().start(() -> hasher.encode("a"));
+        Thread queued = Thread.ofVirtual().start(() -> hasher.encode("b"));
+        while (registry.get("auth.password.hash.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> hasher.encode("c"))
+                .isInstanceOfSatisfying(OverloadedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+        assertThat(registry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        busy.join(TimeUnit.SECONDS.toMillis(5));
+        queued.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private record PlainEncoder(CountDownLatch gate) implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("{plain}" + rawPassword);
+        }
+    }
+}
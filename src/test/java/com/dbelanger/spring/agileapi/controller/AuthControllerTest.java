@@ -11,11 +11,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.dbelanger.spring.agileapi.auth.AuthController;
 import com.dbelanger.spring.agileapi.auth.AuthService;
+import com.dbelanger.spring.agileapi.exception.OverloadedException;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
@@ -56,4 +58,15 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.accessToken").value("tok"));
     }
+
+    @Test
+    void loginIsRefusedWithRetryAfterWhenHashingIsOverloaded() throws Exception {
+        when(authService.login("tester@example.com", "password123"))
+                .thenThrow(new OverloadedException("Too many concurrent authentication requests.", 3));
+        mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"tester@example.com\",\"password\":\"password123\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"));
+    }
 }
@@ -0,0 +1,115 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dbelanger.spring.agileapi.exception.IdempotencyKeyReusedException;
+import com.dbelanger.spring.agileapi.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IdempotentRequestsTest {
+
+    private IdempotentRequests requests;
+    private AtomicInteger runs;
+    private User user;
+
+    @BeforeEach
+    void init() {
+        requests = new IdempotentRequests(new ObjectMapper(), 100, 60);
+        runs = new AtomicInteger();
+        user = new User();
+        user.setId(10L);
+    }
+
+    @Test
+    void retryReplaysTheFirstResponse() throws Exception {
+        String first = requests.execute(user, "k1", "POST /projects", "body", () -> "created-" + runs.incrementAndGet());
+        String retry = requests.execute(user, "k1", "POST /projects", "body", () -> "created-" + runs.incrementAndGet());
+
+        assertThat(retry).isEqualTo(first).isEqualTo("created-1");
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keysArePerUser() throws Exception {
+        User other = new User();
+        other.setId(11L);
+
+        requests.execute(user, "k1", "POST /projects", "body", runs::incrementAndGet);
+        requests.execute(other, "k1", "POST /projects", "body", runs::incrementAndGet);
+
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    void reusingAKeyForAnotherRequestIsRefused() throws Exception {
+        requests.execute(user, "k1", "POST /projects", "body", runs::incrementAndGet);
+
+        assertThatThrownBy(() -> requests.execute(user, "k1", "POST /projects", "other", runs::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> requests.execute(user, "k1", "POST /projects/7/sprints", "body", runs::incrementAndGet))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void failuresAreNotKept() throws Exception {
+        assertThatThrownBy(() -> requests.execute(user, "k1", "POST /projects", "body", () -> {
+            throw new IllegalArgumentException("Sprint at 3 not found.");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(requests.execute(user, "k1", "POST /projects", "body", runs::incrementAndGet)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheFirst() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                return requests.execute(user, "k1", "POST /projects", "body", () -> {
+                    started.countDown();
+                    awaitQuietly(release);
+                    return runs.incrementAndGet();
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> duplicate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return requests.execute(user, "k1", "POST /projects", "body", runs::incrementAndGet);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void blankKeyIsRejected() {
+        assertThatThrownBy(() -> requests.execute(user, " ", "POST /projects", "body", runs::incrementAndGet))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
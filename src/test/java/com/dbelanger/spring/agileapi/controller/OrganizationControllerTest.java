@@ -13,10 +13,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dbelanger.spring.agileapi.dto.OrganizationOverviewDto;
 import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Task;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
 import com.dbelanger.spring.agileapi.service.OrganizationService;
+import com.dbelanger.spring.agileapi.service.ProjectService;
 
 @WebMvcTest(controllers = OrganizationController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -28,6 +31,8 @@ class OrganizationControllerTest {
     @MockBean
     private OrganizationService organizationService;
     @MockBean
+    private ProjectService projectService;
+    @MockBean
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     private User principal;
@@ -58,4 +63,23 @@ class OrganizationControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1));
     }
+
+    @Test
+    void getMyOverview() throws Exception {
+        OrganizationOverviewDto overview = new OrganizationOverviewDto(1L);
+        OrganizationOverviewDto.ProjectCounts project = new OrganizationOverviewDto.ProjectCounts(4L);
+        project.total = 3;
+        project.byStatus.put(Task.Status.DONE, 3L);
+        overview.projects.add(project);
+        overview.total = 3;
+        overview.byStatus.put(Task.Status.DONE, 3L);
+        when(projectService.getOrganizationOverview(1L, principal)).thenReturn(overview);
+
+        mockMvc.perform(get("/api/v1/organizations/me/overview").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.byStatus.DONE").value(3))
+                .andExpect(jsonPath("$.byStatus.TO_DO").value(0))
+                .andExpect(jsonPath("$.projects[0].projectId").value(4))
+                .andExpect(jsonPath("$.projects[0].byStatus.DONE").value(3));
+    }
 }
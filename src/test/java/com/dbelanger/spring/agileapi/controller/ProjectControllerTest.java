@@ -1,5 +1,6 @@
 package com.dbelanger.spring.agileapi.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,21 +11,30 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
+import com.dbelanger.spring.agileapi.dto.SprintVelocityDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
 import com.dbelanger.spring.agileapi.service.ProjectService;
 
 @WebMvcTest(controllers = ProjectController.class)
+@Import(IdempotentRequests.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ProjectControllerTest {
 
@@ -59,9 +69,14 @@ class ProjectControllerTest {
 
     @Test
     void listProjects() throws Exception {
-        when(projectService.getProjectsByOrganizationId(1L, principal)).thenReturn(List.of(new Project()));
+        when(projectService.etagOfProjects(1L, principal)).thenReturn("v1");
+        when(projectService.getProjectsByOrganizationId(1L, principal, null, 50)).thenReturn(new CursorPage<>(List.of(new ProjectResponseDto(4L, "P", null, 1L)), null));
         mockMvc.perform(get("/api/v1/projects").principal(auth()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""));
+
+        mockMvc.perform(get("/api/v1/projects").header("If-None-Match", "\"v1\"").principal(auth()))
+                .andExpect(status().isNotModified());
     }
 
     @Test
@@ -75,4 +90,31 @@ class ProjectControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.name").value("Test Project"));
     }
+
+    @Test
+    void velocity() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2026, 9, 1, 9, 0);
+        when(projectService.getVelocity(4L, principal, 2)).thenReturn(ProjectVelocityDto.from(4L, List.of(
+                new SprintVelocityDto(6L, "Sprint 2", start.plusWeeks(2), start.plusWeeks(4), null),
+                new SprintVelocityDto(5L, "Sprint 1", start, start.plusWeeks(2), 8L))));
+        mockMvc.perform(get("/api/v1/projects/4/velocity").param("sprints", "2").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.averageCompletedTasks").value(8.0))
+                .andExpect(jsonPath("$.sprints[0].sprintId").value(5))
+                .andExpect(jsonPath("$.sprints[0].frozen").value(true))
+                .andExpect(jsonPath("$.sprints[1].completedTasks").value(0));
+    }
+
+    @Test
+    void deleteProjectIsAcceptedWithItsPurgeJob() throws Exception {
+        PurgeJob job = new PurgeJob(PurgeJob.Target.PROJECT, 4L, 1L, 3, 120, LocalDateTime.now());
+        job.setId(21L);
+        when(projectService.deleteProjectById(4L, principal, null)).thenReturn(job);
+        mockMvc.perform(delete("/api/v1/projects/4").principal(auth()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/v1/purge-jobs/21"))
+                .andExpect(jsonPath("$.target").value("PROJECT"))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.tasksTotal").value(120));
+    }
 }
@@ -0,0 +1,79 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
+import com.dbelanger.spring.agileapi.service.PurgeService;
+
+@WebMvcTest(controllers = PurgeJobController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class PurgeJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PurgeService purgeService;
+    @MockBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private User principal;
+
+    @BeforeEach
+    void setup() {
+        Organization org = new Organization(); org.setId(1L);
+        principal = new User(); principal.setOrganization(org);
+    }
+
+    private Authentication auth() {
+        return new Authentication() {
+            @Override public String getName() { return "u"; }
+            @Override public void setAuthenticated(boolean isAuthenticated) {}
+            @Override public boolean isAuthenticated() { return true; }
+            @Override public Object getPrincipal() { return principal; }
+            @Override public Object getDetails() { return null; }
+            @Override public Object getCredentials() { return null; }
+            @Override public java.util.Collection<org.springframework.security.core.GrantedAuthority> getAuthorities(){return java.util.List.of();}
+        };
+    }
+
+    @Test
+    void purgeJobProgress() throws Exception {
+        PurgeJob job = new PurgeJob(PurgeJob.Target.SPRINT, 9L, 1L, 1, 2500, LocalDateTime.now());
+        job.setId(21L);
+        when(purgeService.getPurgeJob(21L)).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/purge-jobs/21").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(21))
+                .andExpect(jsonPath("$.target").value("SPRINT"))
+                .andExpect(jsonPath("$.targetId").value(9))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.tasksTotal").value(2500))
+                .andExpect(jsonPath("$.tasksDeleted").value(0));
+    }
+
+    @Test
+    void unknownJobIsBadRequest() throws Exception {
+        when(purgeService.getPurgeJob(22L))
+                .thenThrow(new IllegalArgumentException("Purge job at 22 not found."));
+        mockMvc.perform(get("/api/v1/purge-jobs/22").principal(auth()))
+                .andExpect(status().isBadRequest());
+    }
+}
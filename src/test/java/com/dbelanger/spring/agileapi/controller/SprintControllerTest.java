@@ -9,14 +9,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintResponseDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
 import com.dbelanger.spring.agileapi.model.Sprint;
@@ -25,6 +29,7 @@ import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
 import com.dbelanger.spring.agileapi.service.SprintService;
 
 @WebMvcTest(controllers = SprintController.class)
+@Import(IdempotentRequests.class)
 @AutoConfigureMockMvc(addFilters = false)
 class SprintControllerTest {
 
@@ -58,11 +63,20 @@ class SprintControllerTest {
         };
     }
 
+    private Sprint sprintWithId(long id) {
+        Sprint s = new Sprint(); s.setId(id); s.setName("Sprint " + id);
+        return s;
+    }
+
     @Test
     void listSprints() throws Exception {
-        when(sprintService.getSprintsByProjectId(7L, principal)).thenReturn(List.of(new Sprint()));
+        when(sprintService.etagOfSprints(7L, principal)).thenReturn("v7");
+        when(sprintService.getSprintsByProjectId(7L, principal, null, 50)).thenReturn(new CursorPage<>(List.of(SprintResponseDto.from(sprintWithId(1L))), "abc"));
         mockMvc.perform(get("/api/v1/projects/7/sprints").principal(auth()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "<http://localhost/api/v1/projects/7/sprints?after=abc>; rel=\"next\""))
+                .andExpect(header().string("ETag", "\"v7\""))
+                .andExpect(jsonPath("$[0].id").value(1));
     }
 
     @Test
@@ -0,0 +1,80 @@
+package com.dbelanger.spring.agileapi.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.dbelanger.spring.agileapi.dto.SyncDto;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.Tombstone;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
+import com.dbelanger.spring.agileapi.service.SyncService;
+
+@WebMvcTest(controllers = SyncController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SyncService syncService;
+    @MockBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private User principal;
+
+    @BeforeEach
+    void setup() {
+        Organization org = new Organization(); org.setId(1L);
+        principal = new User(); principal.setOrganization(org);
+    }
+
+    private Authentication auth() {
+        return new Authentication() {
+            @Override public String getName() { return "u"; }
+            @Override public void setAuthenticated(boolean isAuthenticated) {}
+            @Override public boolean isAuthenticated() { return true; }
+            @Override public Object getPrincipal() { return principal; }
+            @Override public Object getDetails() { return null; }
+            @Override public Object getCredentials() { return null; }
+            @Override public java.util.Collection<org.springframework.security.core.GrantedAuthority> getAuthorities(){return java.util.List.of();}
+        };
+    }
+
+    @Test
+    void syncSince() throws Exception {
+        SyncDto sync = new SyncDto(57L, false);
+        sync.tasks.add(new TaskResponseDto(11L, "Launch", null, Task.Status.DONE, 2, 8L, 3L));
+        sync.deleted.add(new SyncDto.Deleted(Tombstone.Type.SPRINT, 4L));
+        when(syncService.getChangesSince(42L, principal)).thenReturn(sync);
+
+        mockMvc.perform(get("/api/v1/sync").param("since", "42").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(57))
+                .andExpect(jsonPath("$.full").value(false))
+                .andExpect(jsonPath("$.tasks[0].id").value(11))
+                .andExpect(jsonPath("$.deleted[0].type").value("SPRINT"))
+                .andExpect(jsonPath("$.deleted[0].id").value(4));
+    }
+
+    @Test
+    void negativeSinceIsBadRequest() throws Exception {
+        when(syncService.getChangesSince(-1L, principal))
+                .thenThrow(new IllegalArgumentException("since must not be negative."));
+        mockMvc.perform(get("/api/v1/sync").param("since", "-1").principal(auth()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,33 +1,61 @@
 package com.dbelanger.spring.agileapi.controller;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dbelanger.spring.agileapi.dto.BulkTaskResultDto;
+import com.dbelanger.spring.agileapi.dto.BurndownDto;
+import com.dbelanger.spring.agileapi.dto.SprintSummaryDto;
+import com.dbelanger.spring.agileapi.dto.TaskGroupCountDto;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.exception.PreconditionFailedException;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
 import com.dbelanger.spring.agileapi.model.Sprint;
 import com.dbelanger.spring.agileapi.model.Task;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
+import com.dbelanger.spring.agileapi.service.RowStream;
+import com.dbelanger.spring.agileapi.service.SprintBoardCache;
+import com.dbelanger.spring.agileapi.service.SprintChangeFeed;
 import com.dbelanger.spring.agileapi.service.TaskService;
 
 @WebMvcTest(controllers = TaskController.class)
+@Import(IdempotentRequests.class)
 @AutoConfigureMockMvc(addFilters = false)
 class TaskControllerTest {
 
@@ -64,9 +92,122 @@ class TaskControllerTest {
 
     @Test
     void listTasks() throws Exception {
-        when(taskService.getTasksBySprintId(3L, principal, null, null, null)).thenReturn(List.of(new Task()));
+        when(taskService.etagOfTasks(3L, principal)).thenReturn("v1");
+        when(taskService.getTaskPage(3L, principal, null, null, null, Sort.unsorted(), null, 50))
+                .thenReturn(new SprintBoardCache.Page("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8), "abc"));
         mockMvc.perform(get("/api/v1/sprints/3/tasks").principal(auth()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/json"))
+                .andExpect(content().json("[{\"id\":1}]"))
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(header().string("Link", "<http://localhost/api/v1/sprints/3/tasks?after=abc>; rel=\"next\""));
+    }
+
+    @Test
+    void listTasks_notModifiedSkipsTheService() throws Exception {
+        when(taskService.etagOfTasks(3L, principal)).thenReturn("v1");
+        mockMvc.perform(get("/api/v1/sprints/3/tasks").header("If-None-Match", "\"v1\"").principal(auth()))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(content().string(""));
+        verify(taskService, never()).getTaskPage(anyLong(), any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void sprintSummary() throws Exception {
+        when(taskService.etagOfTasks(3L, principal)).thenReturn("v1");
+        when(taskService.getSprintSummary(3L, principal)).thenReturn(SprintSummaryDto.from(3L, List.of(
+                new TaskGroupCountDto(Task.Status.DONE, 2, 8L, 4))));
+        mockMvc.perform(get("/api/v1/sprints/3/summary").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.byStatus.DONE").value(4))
+                .andExpect(jsonPath("$.byStatus.TO_DO").value(0))
+                .andExpect(jsonPath("$.byPriority.2").value(4))
+                .andExpect(jsonPath("$.byAssignee.8").value(4));
+
+        mockMvc.perform(get("/api/v1/sprints/3/summary").header("If-None-Match", "\"v1\"").principal(auth()))
+                .andExpect(status().isNotModified());
+        verify(taskService, times(1)).getSprintSummary(3L, principal);
+    }
+
+    @Test
+    void burndown() throws Exception {
+        BurndownDto burndown = new BurndownDto(3L);
+        burndown.days.add(new BurndownDto.Point(LocalDate.of(2026, 10, 5), 7));
+        burndown.days.add(new BurndownDto.Point(LocalDate.of(2026, 10, 6), 5));
+        when(taskService.getBurndown(3L, principal)).thenReturn(burndown);
+        mockMvc.perform(get("/api/v1/sprints/3/burndown").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.days[0].date").value("2026-10-05"))
+                .andExpect(jsonPath("$.days[1].remaining").value(5));
+    }
+
+    @Test
+    void streamChanges() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        emitter.send(SseEmitter.event().name(SprintChangeFeed.RESYNC).data("{}", MediaType.APPLICATION_JSON));
+        emitter.complete();
+        when(taskService.subscribeToChanges(3L, principal)).thenReturn(emitter);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/sprints/3/events")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .principal(auth()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("event:resync\ndata:{}\n\n"));
+    }
+
+    @Test
+    void patchTask_staleIfMatchIsPreconditionFailed() throws Exception {
+        when(taskService.updateTaskById(eq(11L), any(Task.class), eq(principal), eq("\"v1\"")))
+                .thenThrow(new PreconditionFailedException("The resource has changed since it was read."));
+        mockMvc.perform(patch("/api/v1/tasks/11")
+                        .header("If-Match", "\"v1\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"priority\":2,\"assigneeId\":8}")
+                        .principal(auth()))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void patchTask_concurrentWriteIsConflict() throws Exception {
+        when(taskService.updateTaskById(eq(11L), any(Task.class), eq(principal), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 11L));
+        mockMvc.perform(patch("/api/v1/tasks/11")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Renamed\",\"priority\":2,\"assigneeId\":8}")
+                        .principal(auth()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void exportTasksAsNdjson() throws Exception {
+        RowStream<TaskResponseDto> rows = sink -> {
+            sink.accept(new TaskResponseDto(1L, "A", null, Task.Status.TO_DO, 1, 8L, 3L));
+            sink.accept(new TaskResponseDto(2L, "B", null, Task.Status.DONE, 2, 8L, 3L));
+        };
+        when(taskService.streamTasksBySprintId(3L, principal, null, null, null)).thenReturn(rows);
+
+        MvcResult started = mockMvc.perform(get("/api/v1/sprints/3/tasks")
+                        .accept("application/x-ndjson")
+                        .principal(auth()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string(
+                        "{\"id\":1,\"title\":\"A\",\"description\":null,\"status\":\"TO_DO\",\"priority\":1,\"assigneeId\":8,\"sprintId\":3}\n"
+                                + "{\"id\":2,\"title\":\"B\",\"description\":null,\"status\":\"DONE\",\"priority\":2,\"assigneeId\":8,\"sprintId\":3}\n"));
     }
 
     @Test
@@ -80,4 +221,66 @@ class TaskControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
+
+    @Test
+    void createTask_retryWithTheSameKeyReplaysTheFirstResponse() throws Exception {
+        Task t = new Task(); t.setId(21L); t.setTitle("Test Task");
+        when(taskService.createTask(any(Task.class), eq(3L), eq(8L), eq(principal))).thenReturn(t);
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/api/v1/sprints/3/tasks")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"Test Task\",\"priority\":2,\"assigneeId\":8}")
+                            .principal(auth()))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(21));
+        }
+        verify(taskService, times(1)).createTask(any(Task.class), eq(3L), eq(8L), eq(principal));
+
+        mockMvc.perform(post("/api/v1/sprints/3/tasks")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Other Task\",\"priority\":2,\"assigneeId\":8}")
+                        .principal(auth()))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createTasksInBulk() throws Exception {
+        when(taskService.createTasks(eq(3L), any(), eq(principal))).thenReturn(List.of(
+                BulkTaskResultDto.created(0, new TaskResponseDto(1L, "First", null, Task.Status.TO_DO, 2, 8L, 3L)),
+                BulkTaskResultDto.failed(1, "Task title already exists in this sprint.")));
+
+        mockMvc.perform(post("/api/v1/sprints/3/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"First\",\"priority\":2,\"assigneeId\":8},"
+                                + "{\"title\":\"First\",\"priority\":2,\"assigneeId\":8}]")
+                        .principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].task.id").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Task title already exists in this sprint."));
+    }
+
+    @Test
+    void patchTasksInBulk() throws Exception {
+        when(taskService.updateTasks(eq(3L), any(), eq(principal), isNull())).thenReturn(2);
+
+        mockMvc.perform(patch("/api/v1/sprints/3/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"filter\":{\"status\":\"IN_PROGRESS\"},\"set\":{\"status\":\"DONE\"}}")
+                        .principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2));
+    }
+
+    @Test
+    void patchTasksInBulk_rejectsOutOfRangePriority() throws Exception {
+        mockMvc.perform(patch("/api/v1/sprints/3/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"set\":{\"priority\":9}}")
+                        .principal(auth()))
+                .andExpect(status().isBadRequest());
+    }
 }
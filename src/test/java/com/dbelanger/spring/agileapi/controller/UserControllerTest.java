@@ -1,5 +1,7 @@
 package com.dbelanger.spring.agileapi.controller;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
@@ -17,6 +19,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.UserResponseDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.security.JwtAuthenticationFilter;
@@ -55,6 +59,15 @@ class UserControllerTest {
         };
     }
 
+    @Test
+    void listUsers() throws Exception {
+        when(userService.getUsersByOrganizationId(1L, principal, null, 50))
+                .thenReturn(new CursorPage<>(List.of(new UserResponseDto(5L, "Tester", "t@example.com", 1L)), null));
+        mockMvc.perform(get("/api/v1/users").principal(auth()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].organizationId").value(1));
+    }
+
     @Test
     void getUser() throws Exception {
         User u = new User(); u.setId(5L); u.setName("Tester"); u.setEmail("t@example.com"); u.setOrganization(org);
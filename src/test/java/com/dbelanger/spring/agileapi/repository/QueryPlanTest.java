@@ -0,0 +1,317 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.User;
+
+/// Runs every repository query against the Flyway schema, then has H2 `EXPLAIN` the SQL Hibernate actually sent.
+/// Fails when any statement would scan a whole table, or the whole of one organization's rows in it, because the only
+/// index it can use matches nothing but the tenant restriction. New repository queries belong in `runRepositoryQueries`.
+/// The tables are seeded and analyzed first: on empty tables H2 costs every index the same and the plans mean nothing.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:queryplan")
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final long ORGANIZATION_ID = 1L;
+    private static final long PROJECT_ID = 1L;
+    private static final long SPRINT_ID = 1L;
+    private static final long USER_ID = 1L;
+
+    // H2 names the access path of every table in a plan: "/* PUBLIC.TASK.tableScan */" or "/* PUBLIC.<index>: <conditions> */".
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* PUBLIC\\.([\\w.]+)(?:: (.*?))?\\s*\\*/", Pattern.DOTALL);
+    private static final Pattern INDEX_COLUMN = Pattern.compile("(\\w+) (?:=|<|>|IN\\()");
+    private static final Pattern FILTERED_COLUMN = Pattern.compile("\"\\w+\"\\.\"(\\w+)\"");
+
+    @TestConfiguration
+    static class RecordSql {
+
+        @Bean
+        RecordingInspector recordingInspector() {
+            return new RecordingInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(RecordingInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    static class RecordingInspector implements StatementInspector {
+
+        final Set<String> statements = Collections.synchronizedSet(new LinkedHashSet<>());
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private RecordingInspector inspector;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private OrganizationRepository organizationRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private SprintRepository sprintRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private TaskEventRepository taskEventRepository;
+    @Autowired
+    private ProjectStatusCountRepository projectStatusCountRepository;
+    @Autowired
+    private SprintBurndownDayRepository sprintBurndownDayRepository;
+    @Autowired
+    private SprintVelocityRepository sprintVelocityRepository;
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+    @Autowired
+    private PurgeJobRepository purgeJobRepository;
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void noRepositoryQueryScansATable() {
+        seed();
+
+        // Run as a tenant so the plans include the @TenantId restriction, like real requests.
+        User caller = new User();
+        caller.setOrganization(new Organization(ORGANIZATION_ID));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(caller, null, List.of()));
+
+        inspector.statements.clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            runRepositoryQueries();
+            tx.setRollbackOnly();
+        });
+
+        List<String> queries = inspector.statements.stream()
+                .filter(sql -> sql.startsWith("select") || sql.startsWith("update") || sql.startsWith("delete"))
+                .toList();
+        assertThat(queries).hasSizeGreaterThanOrEqualTo(20);
+
+        Map<String, String> tableScans = new LinkedHashMap<>();
+        for (String sql : queries) {
+            String plan = explain(sql);
+            if (scans(plan)) {
+                tableScans.put(sql, plan);
+            }
+        }
+        assertThat(tableScans).as("queries without a usable index").isEmpty();
+    }
+
+    // 20 organizations, each with 50 users and 10 projects of 10 sprints of 10 tasks.
+    private void seed() {
+        jdbcTemplate.execute("insert into organization (id, name, slug, created_at) "
+                + "select x, 'Org ' || x, 'org-' || x, current_timestamp from system_range(1, 20)");
+        jdbcTemplate.execute("insert into app_user (id, organization_id, name, email, password_hash) "
+                + "select x, mod(x, 20) + 1, 'User ' || x, 'user' || x || '@example.com', 'hash' from system_range(1, 1000)");
+        jdbcTemplate.execute("insert into project (id, organization_id, name) "
+                + "select x, mod(x, 20) + 1, 'Project ' || x from system_range(1, 200)");
+        jdbcTemplate.execute("insert into sprint (id, organization_id, project_id, name) "
+                + "select x, mod(mod(x, 200) + 1, 20) + 1, mod(x, 200) + 1, 'Sprint ' || x from system_range(1, 2000)");
+        jdbcTemplate.execute("insert into task (id, organization_id, sprint_id, assignee_id, title, status, priority) "
+                + "select x, mod(mod(mod(x, 2000) + 1, 200) + 1, 20) + 1, mod(x, 2000) + 1, mod(x, 1000) + 1, 'Task ' || x, "
+                + "array['TO_DO', 'IN_PROGRESS', 'BLOCKED', 'DONE'][mod(x, 4) + 1], mod(x, 5) + 1 from system_range(1, 20000)");
+        jdbcTemplate.execute("insert into project_status_count (project_id, status, organization_id, task_count) "
+                + "select p.id, s.x, p.organization_id, 25 from project p "
+                + "cross join (values ('TO_DO'), ('IN_PROGRESS'), ('BLOCKED'), ('DONE')) as s (x)");
+        jdbcTemplate.execute("insert into sprint_burndown_day (sprint_id, bucket_date, organization_id, remaining_delta) "
+                + "select s.id, dateadd('DAY', -d.x, current_date), s.organization_id, 1 from sprint s "
+                + "cross join system_range(1, 10) d");
+        jdbcTemplate.execute("insert into tombstone (entity_type, entity_id, organization_id, change_seq, deleted_at) "
+                + "select 'TASK', 100000 + x, mod(x, 20) + 1, x, dateadd('MINUTE', x, current_timestamp) from system_range(1, 5000)");
+        jdbcTemplate.execute("update task set change_seq = id");
+        jdbcTemplate.execute("insert into purge_job (organization_id, target_type, target_id, status, sprints_total, "
+                + "tasks_total, created_at, updated_at) select mod(x, 20) + 1, 'SPRINT', 100000 + x, "
+                + "case when x > 990 then 'PENDING' else 'DONE' end, 1, 10, current_timestamp, current_timestamp "
+                + "from system_range(1, 1000)");
+        jdbcTemplate.execute("analyze");
+    }
+
+    private void runRepositoryQueries() {
+        organizationRepository.findById(ORGANIZATION_ID);
+        organizationRepository.findBySlug("acme");
+        organizationRepository.findByName("Acme");
+        organizationRepository.existsBySlug("acme");
+        organizationRepository.findSyncHorizonById(ORGANIZATION_ID);
+
+        userRepository.findById(USER_ID);
+        userRepository.existsById(USER_ID);
+        userRepository.findTokenEpochById(USER_ID);
+        userRepository.findPageByOrganizationId(ORGANIZATION_ID, 0L, Limit.of(50));
+        userRepository.findIdsInOrganization(List.of(1L, 2L), ORGANIZATION_ID);
+        userRepository.findByEmail("a@acme.test");
+        userRepository.existsByEmail("a@acme.test");
+
+        projectRepository.findById(PROJECT_ID);
+        projectRepository.findPageByOrganizationId(ORGANIZATION_ID, 0L, Limit.of(50));
+        projectRepository.findOrganizationIdById(PROJECT_ID);
+        try (Stream<ProjectResponseDto> rows = projectRepository.streamByOrganizationId(ORGANIZATION_ID)) {
+            rows.forEach(row -> { });
+        }
+        projectRepository.findChangedBetween(ORGANIZATION_ID, 100L, 200L);
+        projectRepository.deletePurged(PROJECT_ID);
+
+        sprintRepository.findById(SPRINT_ID);
+        sprintRepository.findChangedBetween(ORGANIZATION_ID, 100L, 200L);
+        sprintRepository.findPageByProjectId(PROJECT_ID, 0L, Limit.of(50));
+        sprintRepository.findOrganizationIdById(SPRINT_ID);
+        sprintRepository.findIdsByProjectId(PROJECT_ID);
+        sprintRepository.markDeletedByProjectId(PROJECT_ID);
+        sprintRepository.lockLiveIds(List.of(SPRINT_ID, 2L));
+        sprintRepository.deletePurged(SPRINT_ID);
+        sprintVelocityRepository.findRecentByProjectId(PROJECT_ID, LocalDateTime.now(), Limit.of(6));
+        sprintVelocityRepository.deleteBySprintId(SPRINT_ID);
+
+        taskRepository.findById(1L);
+        taskRepository.findSprintIdById(1L);
+        try (Stream<TaskResponseDto> rows = taskRepository.streamBySprintId(SPRINT_ID, Task.Status.TO_DO, 3, USER_ID)) {
+            rows.forEach(row -> { });
+        }
+        taskRepository.findTitlesInSprint(SPRINT_ID, List.of("Write docs", "Ship it"));
+        taskRepository.countGroupsBySprintId(SPRINT_ID);
+        taskRepository.countDoneBySprintId(SPRINT_ID);
+        Sort byId = Sort.by("id");
+        taskRepository.findBy(TaskSpecifications.matching(SPRINT_ID, null, null, null)
+                        .and(TaskSpecifications.seekAfter(byId, List.of("10"))),
+                q -> q.sortBy(byId).limit(51).all());
+        Sort byPriority = Sort.by(Sort.Order.desc("priority"), Sort.Order.asc("id"));
+        taskRepository.findBy(TaskSpecifications.matching(SPRINT_ID, Task.Status.IN_PROGRESS, null, USER_ID)
+                        .and(TaskSpecifications.seekAfter(byPriority, List.of("3", "10"))),
+                q -> q.sortBy(byPriority).limit(51).all());
+        taskRepository.updateMatching(ORGANIZATION_ID,
+                TaskSpecifications.matching(SPRINT_ID, Task.Status.TO_DO, null, null)
+                        .and(TaskSpecifications.idIn(List.of(1L, 2L))),
+                Task.Status.DONE, 2, null);
+        taskRepository.findStatesMatching(TaskSpecifications.matching(SPRINT_ID, null, 3, null));
+        taskRepository.findChangedBetween(ORGANIZATION_ID, 100L, 200L);
+        taskRepository.countByProjectId(PROJECT_ID);
+        taskRepository.findIdsBySprintId(SPRINT_ID, Limit.of(1000));
+        taskRepository.deleteByIdIn(List.of(1L, 2L));
+        taskEventRepository.findIdsBySprintId(SPRINT_ID, Limit.of(1000));
+        taskEventRepository.deleteByIdIn(List.of(1L, 2L));
+
+        // Compaction is left out: it runs as the root tenant, over every organization's tombstones at once.
+        tombstoneRepository.findChangedBetween(ORGANIZATION_ID, 100L, 200L);
+
+        projectStatusCountRepository.findByOrganizationId(ORGANIZATION_ID);
+        projectStatusCountRepository.findProjectIdsAfter(PROJECT_ID, Limit.of(10));
+        projectStatusCountRepository.lockByProjectId(PROJECT_ID);
+        projectStatusCountRepository.recountProject(PROJECT_ID);
+        projectStatusCountRepository.addForSprint(SPRINT_ID, Task.Status.DONE, 1);
+        projectStatusCountRepository.deleteByProjectId(PROJECT_ID);
+
+        sprintBurndownDayRepository.findBySprintId(SPRINT_ID);
+        sprintBurndownDayRepository.addToDay(SPRINT_ID, LocalDate.now(), 1);
+        sprintBurndownDayRepository.deleteBySprintId(SPRINT_ID);
+
+        // findDue is left out: it runs as the root tenant, over every organization's jobs at once.
+        purgeJobRepository.findById(1L);
+        purgeJobRepository.addProgress(1L, 0, 1000, LocalDateTime.now());
+        purgeJobRepository.finish(1L, LocalDateTime.now());
+        purgeJobRepository.recordFailure(1L, "Referential integrity constraint violation", LocalDateTime.now(),
+                LocalDateTime.now());
+        purgeJobRepository.fail(1L, "Referential integrity constraint violation", LocalDateTime.now());
+    }
+
+    private static boolean scans(String plan) {
+        Set<String> filtered = columns(FILTERED_COLUMN, whereClauseOf(plan));
+        // `deleted` only drops the few rows waiting to be purged; it doesn't narrow what a read visits.
+        filtered.remove("DELETED");
+        Matcher access = TABLE_ACCESS.matcher(plan);
+        while (access.find()) {
+            String conditions = access.group(2);
+            if (conditions == null) {
+                return true;
+            }
+            // An index that only narrows to the tenant is a scan when the statement filters on more than the tenant.
+            Set<String> used = columns(INDEX_COLUMN, conditions);
+            if (used.equals(Set.of("ORGANIZATION_ID")) && !filtered.equals(used)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String whereClauseOf(String plan) {
+        String[] parts = plan.split("\\sWHERE\\s", 2);
+        return parts.length < 2 ? "" : parts[1].split("\\sORDER BY\\s|\\sFETCH\\s")[0];
+    }
+
+    private static Set<String> columns(Pattern pattern, String text) {
+        Set<String> columns = new LinkedHashSet<>();
+        Matcher column = pattern.matcher(text);
+        while (column.find()) {
+            columns.add(column.group(1));
+        }
+        return columns;
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                // The plan is fixed when the statement is prepared; the values only have to be bound.
+                int parameters = explain.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    explain.setNull(i, Types.NULL);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    StringBuilder text = new StringBuilder();
+                    while (plan.next()) {
+                        text.append(plan.getString(1));
+                    }
+                    return text.toString();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,99 @@
+package com.dbelanger.spring.agileapi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.service.UserService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/// Reads go to the second-level cache, and the service save/delete paths keep it current.
+/// Every call runs in its own session, so a stale region would show up as a stale read.
+class SecondLevelCacheTest extends IntegrationTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void organizationLookupsAreServedFromTheCache() throws Exception {
+        organizationService.getOrganizationBySlug(organization.getSlug());
+
+        assertThat(statementsDuring(() -> organizationService.getOrganizationBySlug(organization.getSlug()))).isZero();
+        assertThat(statementsDuring(() -> organizationService.getOrganizationById(organization.getId()))).isZero();
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "organization", "result", "hit")
+                .functionCounter().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void creatingAnOrganizationInvalidatesCachedSlugLookups() {
+        String slug = organization.getSlug() + "-new";
+        assertThatThrownBy(() -> organizationService.getOrganizationBySlug(slug))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        organizationService.createOrganization(slug, slug);
+
+        assertThat(organizationService.getOrganizationBySlug(slug).getSlug()).isEqualTo(slug);
+    }
+
+    @Test
+    void projectUpdatesAndDeletesReachTheCache() throws Exception {
+        Project created = projectService.createNewProject(new Project(0, "Gemini", null, organization), user);
+        projectService.getProjectById(created.getId(), user);
+        assertThat(statementsDuring(() -> projectService.getProjectById(created.getId(), user))).isZero();
+
+        Project rename = new Project();
+        rename.setName("Artemis");
+        projectService.updateProjectById(rename, created.getId(), user, null);
+        assertThat(projectService.getProjectById(created.getId(), user).getName()).isEqualTo("Artemis");
+
+        projectService.deleteProjectById(created.getId(), user, null);
+        assertThatThrownBy(() -> projectService.getProjectById(created.getId(), user))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void userUpdatesAndDeletesReachTheCache() throws Exception {
+        userRepository.findById(user.getId());
+        assertThat(statementsDuring(() -> userRepository.findById(user.getId()))).isZero();
+
+        User rename = new User();
+        rename.setName("Renamed");
+        userService.updateUserById(user.getId(), rename, user);
+        assertThat(userRepository.findById(user.getId())).get().extracting(User::getName).isEqualTo("Renamed");
+
+        userService.deleteUserById(user.getId(), user);
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+    }
+
+    private long statementsDuring(Work work) throws Exception {
+        long before = statistics.getPrepareStatementCount();
+        work.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private interface Work {
+        void run() throws Exception;
+    }
+}
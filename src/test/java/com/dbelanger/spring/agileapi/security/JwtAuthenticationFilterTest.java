@@ -1,16 +1,20 @@
 package com.dbelanger.spring.agileapi.security;
 
 import java.io.IOException;
+import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
@@ -30,6 +34,8 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserPrincipalCache userPrincipalCache;
+    @Mock
     private HttpServletRequest request;
     @Mock
     private HttpServletResponse response;
@@ -61,6 +67,61 @@ class JwtAuthenticationFilterTest {
         verify(filterChain).doFilter(request, response);
     }
 
+    @Test
+    void statelessModeBuildsPrincipalFromClaims() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        when(request.getHeader("Authorization")).thenReturn("Bearer ABC");
+        Claims claims = new DefaultClaims();
+        claims.setSubject("42");
+        claims.setIssuedAt(new Date());
+        claims.put("organizationId", 1L);
+        claims.put("epoch", 3L);
+        when(jwtService.validateTokenAndGetClaims("ABC")).thenReturn(claims);
+        when(userPrincipalCache.isCurrent(42L, 3L)).thenReturn(true);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        User principal = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getOrganization().getId()).isEqualTo(1L);
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void statelessModeRejectsTokenFromAnOlderEpoch() throws ServletException, IOException {
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", true);
+        when(request.getHeader("Authorization")).thenReturn("Bearer ABC");
+        Claims claims = new DefaultClaims();
+        claims.setSubject("42");
+        claims.setIssuedAt(new Date());
+        claims.put("organizationId", 1L);
+        claims.put("epoch", 3L);
+        when(jwtService.validateTokenAndGetClaims("ABC")).thenReturn(claims);
+        when(userPrincipalCache.isCurrent(42L, 3L)).thenReturn(false);
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void rejectsTokenFromAnOlderEpochOfTheLoadedUser() throws ServletException, IOException {
+        when(request.getHeader("Authorization")).thenReturn("Bearer ABC");
+        Claims claims = new DefaultClaims();
+        claims.setSubject("42");
+        claims.put("epoch", 3L);
+        when(jwtService.validateTokenAndGetClaims("ABC")).thenReturn(claims);
+        Organization org = new Organization(); org.setId(1L);
+        User u = new User(); u.setId(42L); u.setOrganization(org); u.setTokenEpoch(4L);
+        when(userRepository.findById(42L)).thenReturn(java.util.Optional.of(u));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(filterChain).doFilter(request, response);
+    }
+
     @Test
     void skipsWhenNoHeader() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn(null);
@@ -3,13 +3,16 @@ package com.dbelanger.spring.agileapi.security;
 import java.util.Date;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 
 class JwtServiceTest {
 
@@ -18,6 +21,16 @@ class JwtServiceTest {
     @BeforeEach
     void setUp() {
         jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", "test-secret-key-that-is-long-enough-for-hs256-signing");
+        ReflectionTestUtils.setField(jwtService, "expirationTime", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedCacheSize", 100L);
+        jwtService.init();
+    }
+
+    private String tokenFor(long userId, long orgId) {
+        Organization org = new Organization();
+        org.setId(orgId);
+        return jwtService.generateToken(new User(userId, "user@example.com", "hash", "Test User", org));
     }
 
     @Test
@@ -25,10 +38,29 @@ class JwtServiceTest {
         Organization org = new Organization();
         org.setId(1L);
         User user = new User(42L, "user@example.com", "hash", "Test User", org);
+        user.setTokenEpoch(3L);
         String token = jwtService.generateToken(user);
         Claims claims = jwtService.validateTokenAndGetClaims(token);
         assertThat(claims.getSubject()).isEqualTo("42");
         assertThat(claims.get("organizationId", Long.class)).isEqualTo(1L);
+        assertThat(claims.get("epoch", Long.class)).isEqualTo(3L);
         assertThat(claims.getExpiration()).isAfter(new Date());
     }
+
+    @Test
+    void repeatedValidationServesVerifiedClaimsFromCache() {
+        String token = tokenFor(42L, 1L);
+        Claims first = jwtService.validateTokenAndGetClaims(token);
+        assertThat(jwtService.validateTokenAndGetClaims(token)).isSameAs(first);
+        assertThat(jwtService.extractUserId(token)).isEqualTo(42L);
+        assertThat(jwtService.extractOrganizationId(token)).isEqualTo(1L);
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = tokenFor(42L, 1L);
+        jwtService.validateTokenAndGetClaims(token);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertThatThrownBy(() -> jwtService.validateTokenAndGetClaims(tampered)).isInstanceOf(JwtException.class);
+    }
 }
@@ -0,0 +1,40 @@
+package com.dbelanger.spring.agileapi.security;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.User;
+
+class TenantIdentifierResolverTest {
+
+    private final TenantIdentifierResolver resolver = new TenantIdentifierResolver();
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatedUserResolvesToTheirOrganization() {
+        User user = new User();
+        user.setOrganization(new Organization(7L));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        assertThat(resolver.resolveCurrentTenantIdentifier()).isEqualTo(7L);
+        assertThat(resolver.isRoot(7L)).isFalse();
+    }
+
+    @Test
+    void anonymousWorkRunsAsRoot() {
+        Long tenant = resolver.resolveCurrentTenantIdentifier();
+
+        assertThat(tenant).isEqualTo(TenantIdentifierResolver.ROOT_TENANT);
+        assertThat(resolver.isRoot(tenant)).isTrue();
+    }
+}
@@ -0,0 +1,69 @@
+package com.dbelanger.spring.agileapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/// Another organization's rows must read as missing, whether or not the second-level cache already holds them.
+class TenantIsolationTest extends IntegrationTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Sprint sprint;
+    private Task task;
+    private User outsider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sprint = sprint("Sprint 1");
+        task = task(sprint, "Launch");
+        outsider = newUser(newOrganization());
+    }
+
+    @Test
+    void foreignRowsAreNotFoundWhenNotCached() {
+        entityManagerFactory.getCache().evictAll();
+        signIn(outsider);
+        assertNotFound();
+    }
+
+    @Test
+    void foreignRowsAreNotFoundOnceTheOwnerHasCachedThem() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        projectService.getProjectById(project.getId(), user);
+        sprintService.getSprintById(sprint.getId(), user);
+        taskService.getTaskById(task.getId(), user);
+        assertThat(userRepository.findById(user.getId())).isPresent();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long statements = statistics.getPrepareStatementCount();
+        projectService.getProjectById(project.getId(), user);
+        userRepository.findById(user.getId());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+
+        signIn(outsider);
+        assertNotFound();
+    }
+
+    private void assertNotFound() {
+        assertThatThrownBy(() -> projectService.getProjectById(project.getId(), outsider))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sprintService.getSprintById(sprint.getId(), outsider))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.getTaskById(task.getId(), outsider))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(userRepository.findById(user.getId())).isEmpty();
+    }
+}
@@ -0,0 +1,56 @@
+package com.dbelanger.spring.agileapi.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.service.UserService;
+
+/// Revocations are read from `app_user`, so a fresh cache (another instance, or this one after a restart) sees them.
+class UserPrincipalCacheTest extends IntegrationTest {
+
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void bumpedEpochRejectsOlderTokensOnAFreshInstance() throws Exception {
+        UserPrincipalCache running = freshInstance();
+        assertThat(isCurrent(running, user, 0L)).isTrue();
+
+        jdbcTemplate.update("update app_user set token_epoch = token_epoch + 1 where id = ?", user.getId());
+
+        // The running instance trusts its cached epoch until it expires.
+        assertThat(isCurrent(running, user, 0L)).isTrue();
+        UserPrincipalCache restarted = freshInstance();
+        assertThat(isCurrent(restarted, user, 0L)).isFalse();
+        assertThat(isCurrent(restarted, user, 1L)).isTrue();
+    }
+
+    @Test
+    void deletedUserIsRejectedHereAndOnAFreshInstance() throws Exception {
+        User leaving = newUser(organization);
+        assertThat(isCurrent(userPrincipalCache, leaving, 0L)).isTrue();
+
+        userService.deleteUserById(leaving.getId(), user);
+
+        assertThat(isCurrent(userPrincipalCache, leaving, 0L)).isFalse();
+        assertThat(isCurrent(freshInstance(), leaving, 0L)).isFalse();
+    }
+
+    private UserPrincipalCache freshInstance() {
+        return new UserPrincipalCache(userRepository, 10, 10, 3_600_000);
+    }
+
+    /// Checked with no one signed in, as `JwtAuthenticationFilter` does.
+    private static boolean isCurrent(UserPrincipalCache cache, User user, long tokenEpoch) throws Exception {
+        return asRootTenant(() -> cache.isCurrent(user.getId(), tokenEpoch));
+    }
+}
@@ -0,0 +1,138 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.SyncDto;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.Tombstone;
+
+/// Every write stamps what it changes with the change sequence and deletes leave tombstones, so a sync returns
+/// exactly what changed since the client's version; a write still in flight holds the version back until it commits.
+class DeltaSyncTest extends IntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private Tombstones tombstones;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Sprint sprint;
+    private Task launch;
+    private Task review;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sprint = sprint("Sprint 1");
+        launch = task(sprint, "Launch");
+        review = task(sprint, "Review");
+    }
+
+    @Test
+    void firstSyncIsTheWholeOrganization() {
+        SyncDto sync = syncService.getChangesSince(0, user);
+
+        assertThat(sync.full).isTrue();
+        assertThat(sync.version).isPositive();
+        assertThat(sync.projects).extracting(p -> p.id).containsExactly(project.getId());
+        assertThat(sync.sprints).extracting(s -> s.id).containsExactly(sprint.getId());
+        assertThat(sync.tasks).extracting(t -> t.id).containsExactly(launch.getId(), review.getId());
+        assertThat(sync.deleted).isEmpty();
+    }
+
+    @Test
+    void laterSyncHasOnlyTheChangesAndDeletes() throws Exception {
+        SyncDto first = syncService.getChangesSince(0, user);
+
+        Task patch = new Task();
+        patch.setTitle("Liftoff");
+        taskService.updateTaskById(launch.getId(), patch, user, null);
+        taskService.deleteTaskById(review.getId(), user, null);
+        SyncDto next = syncService.getChangesSince(first.version, user);
+
+        assertThat(next.full).isFalse();
+        assertThat(next.version).isGreaterThan(first.version);
+        assertThat(next.projects).isEmpty();
+        assertThat(next.sprints).isEmpty();
+        assertThat(next.tasks).extracting(t -> t.title).containsExactly("Liftoff");
+        assertThat(next.deleted).singleElement().satisfies(deleted -> {
+            assertThat(deleted.type).isEqualTo(Tombstone.Type.TASK);
+            assertThat(deleted.id).isEqualTo(review.getId());
+        });
+
+        SyncDto idle = syncService.getChangesSince(next.version, user);
+        assertThat(idle.tasks).isEmpty();
+        assertThat(idle.deleted).isEmpty();
+        assertThat(idle.version).isEqualTo(next.version);
+    }
+
+    @Test
+    void bulkUpdateStampsEveryTaskItChanges() throws Exception {
+        SyncDto first = syncService.getChangesSince(0, user);
+
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest();
+        request.set = new BulkTaskUpdateRequest.Changes();
+        request.set.status = Task.Status.DONE;
+        taskService.updateTasks(sprint.getId(), request, user, null);
+
+        assertThat(syncService.getChangesSince(first.version, user).tasks)
+                .extracting(t -> t.status).containsExactly(Task.Status.DONE, Task.Status.DONE);
+    }
+
+    @Test
+    void uncommittedWriteHoldsBackTheVersion() throws Exception {
+        SyncDto first = syncService.getChangesSince(0, user);
+        Task patch = new Task();
+        patch.setTitle("Liftoff");
+
+        SyncDto during = new TransactionTemplate(transactionManager).execute(tx -> {
+            try {
+                taskService.updateTaskById(launch.getId(), patch, user, null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            // A write that starts later but commits first gets a larger value.
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    projectService.createNewProject(new Project(0, "Gemini", null, organization), user);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return syncService.getChangesSince(first.version, user);
+            }).join();
+        });
+
+        assertThat(during.tasks).isEmpty();
+        assertThat(during.projects).isEmpty();
+
+        SyncDto after = syncService.getChangesSince(during.version, user);
+        assertThat(after.tasks).extracting(t -> t.title).containsExactly("Liftoff");
+        assertThat(after.projects).extracting(p -> p.name).containsExactly("Gemini");
+    }
+
+    @Test
+    void syncFromBeforeCompactedDeletesIsAFullSnapshot() throws Exception {
+        SyncDto first = syncService.getChangesSince(0, user);
+        taskService.deleteTaskById(review.getId(), user, null);
+
+        assertThat(tombstones.compact()).isPositive();
+        SyncDto sync = syncService.getChangesSince(first.version, user);
+
+        assertThat(sync.full).isTrue();
+        assertThat(sync.deleted).isEmpty();
+        assertThat(sync.projects).extracting(p -> p.id).containsExactly(project.getId());
+        assertThat(sync.tasks).extracting(t -> t.id).containsExactly(launch.getId());
+        assertThat(syncService.getChangesSince(sync.version, user).full).isFalse();
+    }
+}
@@ -0,0 +1,94 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/// Updates are single versioned statements, and a write that lands between another request's read and its
+/// UPDATE makes that UPDATE fail instead of silently overwriting it.
+class OptimisticLockingTest extends IntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Sprint sprint;
+    private Task task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        sprint = sprint("Sprint 1");
+        task = task(sprint, "Launch");
+    }
+
+    @Test
+    void patchIsOneSelectAndOneVersionedUpdate() throws Exception {
+        taskService.etagOfTask(task.getId(), user);
+        Task patch = new Task();
+        patch.setTitle("Liftoff");
+
+        long before = statistics.getPrepareStatementCount();
+        Task updated = taskService.updateTaskById(task.getId(), patch, user, null);
+
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(2);
+        assertThat(updated.getVersion()).isEqualTo(task.getVersion() + 1);
+    }
+
+    @Test
+    void writeBetweenReadAndUpdateConflicts() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        assertThatThrownBy(() -> transaction.executeWithoutResult(tx -> {
+            Task read = taskRepository.findById(task.getId()).orElseThrow();
+            Task patch = new Task();
+            patch.setTitle("Landed first");
+            CompletableFuture.runAsync(() -> {
+                try {
+                    taskService.updateTaskById(task.getId(), patch, user, null);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).join();
+
+            read.setTitle("Landed second");
+            taskRepository.saveAndFlush(read);
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+
+        assertThat(taskRepository.findById(task.getId())).get().extracting(Task::getTitle).isEqualTo("Landed first");
+    }
+
+    @Test
+    void bulkUpdateBumpsTheVersion() throws Exception {
+        BulkTaskUpdateRequest request = new BulkTaskUpdateRequest();
+        request.set = new BulkTaskUpdateRequest.Changes();
+        request.set.status = Task.Status.DONE;
+        taskService.updateTasks(sprint.getId(), request, user, null);
+
+        task.setTitle("Stale");
+        assertThatThrownBy(() -> taskRepository.saveAndFlush(task))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(taskRepository.findById(task.getId())).get().extracting(Task::getStatus).isEqualTo(Task.Status.DONE);
+    }
+}
@@ -0,0 +1,98 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+
+@ActiveProfiles("test")
+class OwnershipResolverTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+    @Mock
+    private SprintRepository sprintRepository;
+    @Mock
+    private TaskRepository taskRepository;
+
+    private OwnershipResolver ownership;
+    private User user;
+
+    @BeforeEach
+    void init() {
+        MockitoAnnotations.openMocks(this);
+        ownership = new OwnershipResolver(projectRepository, sprintRepository, taskRepository, 100);
+        user = new User();
+        user.setOrganization(new Organization(1L));
+    }
+
+    @Test
+    void resolvesOnceThenServesFromCache() {
+        when(sprintRepository.findOrganizationIdById(3L)).thenReturn(Optional.of(1L));
+
+        assertThat(ownership.requireOwnSprint(3L, user)).isEqualTo(1L);
+        assertThat(ownership.requireOwnSprint(3L, user)).isEqualTo(1L);
+
+        verify(sprintRepository, times(1)).findOrganizationIdById(3L);
+    }
+
+    @Test
+    void foreignParentIsReportedAsNotFound() {
+        when(projectRepository.findOrganizationIdById(5L)).thenReturn(Optional.of(2L));
+
+        assertThatThrownBy(() -> ownership.requireOwnProject(5L, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Project at 5 not found.");
+    }
+
+    @Test
+    void evictForcesLookupAgain() {
+        when(sprintRepository.findOrganizationIdById(3L)).thenReturn(Optional.of(1L));
+        ownership.requireOwnSprint(3L, user);
+
+        ownership.evictSprint(3L);
+        when(sprintRepository.findOrganizationIdById(3L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> ownership.requireOwnSprint(3L, user))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Sprint at 3 not found.");
+    }
+
+    @Test
+    void taskResolvesToItsSprintThroughTheSprintOwner() {
+        when(taskRepository.findSprintIdById(11L)).thenReturn(Optional.of(3L));
+        when(sprintRepository.findOrganizationIdById(3L)).thenReturn(Optional.of(1L));
+
+        assertThat(ownership.requireOwnTask(11L, user)).isEqualTo(3L);
+        assertThat(ownership.requireOwnTask(11L, user)).isEqualTo(3L);
+        verify(taskRepository, times(1)).findSprintIdById(11L);
+
+        User other = new User();
+        other.setOrganization(new Organization(2L));
+        assertThatThrownBy(() -> ownership.requireOwnTask(11L, other))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Task at 11 not found.");
+    }
+
+    @Test
+    void missesAreNotCached() {
+        when(projectRepository.findOrganizationIdById(5L)).thenReturn(Optional.empty()).thenReturn(Optional.of(1L));
+
+        assertThatThrownBy(() -> ownership.requireOwnProject(5L, user)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(ownership.requireOwnProject(5L, user)).isEqualTo(1L);
+    }
+}
@@ -1,5 +1,6 @@
 package com.dbelanger.spring.agileapi.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,15 +13,27 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.ProjectResponseDto;
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
+import com.dbelanger.spring.agileapi.exception.PreconditionFailedException;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.ProjectRepository;
+import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
 
 @ActiveProfiles("test")
 class ProjectServiceTest {
@@ -29,6 +42,24 @@ class ProjectServiceTest {
     private ProjectRepository projectRepository;
     @Mock
     private OrganizationService organizationService;
+    @Mock
+    private OwnershipResolver ownership;
+    @Mock
+    private ProjectStatusCounters statusCounts;
+    @Mock
+    private SprintVelocities velocities;
+    @Mock
+    private Tombstones tombstones;
+    @Mock
+    private PurgeService purges;
+    @Mock
+    private SprintRepository sprintRepository;
+    @Mock
+    private TaskRepository taskRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
 
     @InjectMocks
     private ProjectService projectService;
@@ -43,20 +74,22 @@ class ProjectServiceTest {
         user = new User();
         user.setId(10L);
         user.setOrganization(org);
+        when(ownership.requireOwnProject(7L, user)).thenReturn(1L);
     }
 
     @Test
     @DisplayName("getProjectsByOrganizationId returns list when authorized")
     void getProjects() throws Exception {
-        Project p = new Project();
-        when(projectRepository.findAllByOrganization_Id(1L)).thenReturn(List.of(p));
-        List<Project> result = projectService.getProjectsByOrganizationId(1L, user);
-        assertThat(result).hasSize(1);
-        verify(organizationService).assertUserInOrganization(eq(user), any(Organization.class));
+        ProjectResponseDto p = new ProjectResponseDto(4L, "P", null, 1L);
+        when(projectRepository.findPageByOrganizationId(1L, 0L, Limit.of(51))).thenReturn(List.of(p));
+        CursorPage<ProjectResponseDto> result = projectService.getProjectsByOrganizationId(1L, user, null, 50);
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.nextCursor()).isNull();
+        verify(organizationService).assertUserInOrganization(user, 1L);
     }
 
     @Test
-    @DisplayName("createNewProject saves when authorized")
+    @DisplayName("createNewProject saves when authorized, with its status counters")
     void createProject() throws Exception {
         Project p = new Project();
         Organization org = new Organization();
@@ -65,6 +98,7 @@ class ProjectServiceTest {
         when(projectRepository.save(p)).thenReturn(p);
         Project saved = projectService.createNewProject(p, user);
         assertThat(saved).isSameAs(p);
+        verify(statusCounts).createFor(p);
     }
 
     @Test
@@ -73,14 +107,14 @@ class ProjectServiceTest {
         Organization org = new Organization();
         org.setId(1L);
         p.setOrganization(org);
-        when(projectRepository.findByIdAndOrganization_Id(5L, 1L)).thenReturn(Optional.of(p));
+        when(projectRepository.findById(5L)).thenReturn(Optional.of(p));
         Project got = projectService.getProjectById(5L, user);
         assertThat(got).isSameAs(p);
     }
 
     @Test
     void getProjectById_notFound() {
-        when(projectRepository.findByIdAndOrganization_Id(5L, 1L)).thenReturn(Optional.empty());
+        when(projectRepository.findById(5L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> projectService.getProjectById(5L, user))
                 .isInstanceOf(IllegalArgumentException.class);
     }
@@ -96,21 +130,60 @@ class ProjectServiceTest {
         Project patch = new Project();
         patch.setName("new");
         patch.setDescription("newD");
-        when(projectRepository.findByIdAndOrganization_Id(7L, 1L)).thenReturn(Optional.of(existing));
-        when(projectRepository.save(existing)).thenReturn(existing);
-        Project updated = projectService.updateProjectById(patch, 7L, user);
+        when(projectRepository.findById(7L)).thenReturn(Optional.of(existing));
+        when(projectRepository.saveAndFlush(existing)).thenReturn(existing);
+        String projectTag = versions.tag(ResourceVersions.Scope.PROJECT, 7L);
+        String listTag = versions.tag(ResourceVersions.Scope.ORGANIZATION, 1L);
+        Project updated = projectService.updateProjectById(patch, 7L, user, "\"" + projectTag + "\"");
         assertThat(updated.getName()).isEqualTo("new");
         assertThat(updated.getDescription()).isEqualTo("newD");
+        assertThat(versions.tag(ResourceVersions.Scope.PROJECT, 7L)).isNotEqualTo(projectTag);
+        assertThat(versions.tag(ResourceVersions.Scope.ORGANIZATION, 1L)).isNotEqualTo(listTag);
     }
 
     @Test
-    void deleteProjectById_deletes() throws Exception {
+    void updateProjectById_refusesStaleIfMatch() {
+        String stale = "\"" + versions.tag(ResourceVersions.Scope.PROJECT, 7L) + "\"";
+        versions.bump(ResourceVersions.Scope.PROJECT, 7L);
+
+        assertThatThrownBy(() -> projectService.updateProjectById(new Project(), 7L, user, stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(projectRepository, never()).findById(7L);
+    }
+
+    @Test
+    void deleteProjectById_hidesTheProjectAndQueuesItsPurge() throws Exception {
         Project existing = new Project();
         Organization org = new Organization();
         org.setId(1L);
         existing.setOrganization(org);
-        when(projectRepository.findByIdAndOrganization_Id(9L, 1L)).thenReturn(Optional.of(existing));
-        projectService.deleteProjectById(9L, user);
-        verify(projectRepository).delete(existing);
+        PurgeJob job = new PurgeJob(PurgeJob.Target.PROJECT, 9L, 1L, 2, 30, LocalDateTime.now());
+        when(projectRepository.findById(9L)).thenReturn(Optional.of(existing));
+        when(ownership.requireOwnProject(9L, user)).thenReturn(1L);
+        when(sprintRepository.findIdsByProjectId(9L)).thenReturn(List.of(11L, 12L));
+        when(taskRepository.countByProjectId(9L)).thenReturn(30L);
+        when(purges.enqueue(PurgeJob.Target.PROJECT, 9L, 1L, 2, 30)).thenReturn(job);
+
+        assertThat(projectService.deleteProjectById(9L, user, null)).isSameAs(job);
+        assertThat(existing.isDeleted()).isTrue();
+        verify(projectRepository).saveAndFlush(existing);
+        verify(projectRepository, never()).delete(any());
+        verify(sprintRepository).markDeletedByProjectId(9L);
+        verify(statusCounts).deleteFor(9L);
+        verify(tombstones).record(Tombstone.Type.PROJECT, 9L, 1L);
+        verify(ownership).evictProject(9L);
+        verify(ownership).evictSprint(11L);
+        verify(ownership).evictSprint(12L);
+    }
+
+    @Test
+    void getVelocity_authorizesAndBoundsTheSprintCount() {
+        ProjectVelocityDto velocity = new ProjectVelocityDto(7L);
+        when(velocities.recent(7L, 6)).thenReturn(velocity);
+
+        assertThat(projectService.getVelocity(7L, user, 6)).isSameAs(velocity);
+        verify(ownership).requireOwnProject(7L, user);
+        assertThatThrownBy(() -> projectService.getVelocity(7L, user, ProjectService.MAX_VELOCITY_SPRINTS + 1))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 }
@@ -0,0 +1,143 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.OrganizationOverviewDto;
+import com.dbelanger.spring.agileapi.dto.TaskRequest;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// The status counters follow every kind of task write, the overview reads them per project and in total,
+/// and reconciliation puts back a counter that was changed behind the application's back without losing
+/// the increment of a task write that runs alongside it.
+class ProjectStatusCountersTest extends IntegrationTest {
+
+    @Autowired
+    private ProjectStatusCounters statusCounts;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sprint = sprint("Sprint 1");
+    }
+
+    @Test
+    void countersFollowTaskWrites() throws Exception {
+        Task launch = taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+        taskService.createTasks(sprint.getId(), List.of(request("Land", Task.Status.BLOCKED), request("Orbit", null)), user);
+        assertThat(overview().byStatus).contains(entry(Task.Status.TO_DO, 2L), entry(Task.Status.BLOCKED, 1L));
+
+        Task patch = new Task();
+        patch.setStatus(Task.Status.IN_PROGRESS);
+        taskService.updateTaskById(launch.getId(), patch, user, null);
+        assertThat(overview().byStatus).contains(entry(Task.Status.TO_DO, 1L), entry(Task.Status.IN_PROGRESS, 1L));
+
+        BulkTaskUpdateRequest finish = new BulkTaskUpdateRequest();
+        finish.set = new BulkTaskUpdateRequest.Changes();
+        finish.set.status = Task.Status.DONE;
+        taskService.updateTasks(sprint.getId(), finish, user, null);
+        assertThat(overview().byStatus).containsExactly(entry(Task.Status.TO_DO, 0L),
+                entry(Task.Status.IN_PROGRESS, 0L), entry(Task.Status.DONE, 3L), entry(Task.Status.BLOCKED, 0L));
+
+        taskService.deleteTaskById(launch.getId(), user, null);
+        OrganizationOverviewDto overview = overview();
+        assertThat(overview.total).isEqualTo(2);
+        assertThat(overview.projects).singleElement().satisfies(counts -> {
+            assertThat(counts.projectId).isEqualTo(project.getId());
+            assertThat(counts.byStatus).containsEntry(Task.Status.DONE, 2L);
+        });
+    }
+
+    @Test
+    void overviewListsEveryProjectAndDropsDeletedOnes() throws Exception {
+        Project empty = projectService.createNewProject(new Project(0, "Gemini", null, organization), user);
+        taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+
+        assertThat(overview().projects).extracting(counts -> counts.projectId)
+                .containsExactly(project.getId(), empty.getId());
+        assertThat(overview().total).isEqualTo(1);
+
+        projectService.deleteProjectById(empty.getId(), user, null);
+        assertThat(overview().projects).extracting(counts -> counts.projectId).containsExactly(project.getId());
+    }
+
+    @Test
+    void reconcileRepairsDrift() throws Exception {
+        taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+        jdbcTemplate.update("update project_status_count set task_count = 7 where project_id = ? and status = 'TO_DO'",
+                project.getId());
+
+        assertThat(asRootTenant(statusCounts::reconcile)).isEqualTo(1);
+        assertThat(asRootTenant(statusCounts::reconcile)).isZero();
+        assertThat(overview().byStatus).containsEntry(Task.Status.TO_DO, 1L);
+    }
+
+    @Test
+    void reconcileWaitsForATaskWriteInFlightAndKeepsItsIncrement() throws Exception {
+        taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread writer = Thread.ofVirtual().start(() -> {
+            signIn(user);
+            new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                try {
+                    taskService.createTask(newTask("Land"), sprint.getId(), user.getId(), user);
+                    written.countDown();
+                    commit.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        });
+        assertThat(written.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> reconciled = executor.submit(statusCounts::reconcile);
+            Thread.sleep(200);
+            assertThat(reconciled).isNotDone();
+            commit.countDown();
+            writer.join();
+            assertThat(reconciled.get(10, TimeUnit.SECONDS)).isZero();
+        }
+        assertThat(overview().byStatus).containsEntry(Task.Status.TO_DO, 2L);
+    }
+
+    private OrganizationOverviewDto overview() throws Exception {
+        return projectService.getOrganizationOverview(organization.getId(), user);
+    }
+
+    private static Task newTask(String title) {
+        return new Task(0, title, null, Task.Status.TO_DO, 2, null, null);
+    }
+
+    private TaskRequest request(String title, Task.Status status) {
+        TaskRequest req = new TaskRequest();
+        req.title = title;
+        req.status = status;
+        req.priority = 2;
+        req.assigneeId = user.getId();
+        return req;
+    }
+}
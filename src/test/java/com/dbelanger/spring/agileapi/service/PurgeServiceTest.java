@@ -0,0 +1,221 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.SyncDto;
+import com.dbelanger.spring.agileapi.model.Organization;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.User;
+
+/// A delete hides the project or sprint and everything under it in its own transaction and frees its name; the
+/// purge job then removes the rows bottom-up in chunks, reporting progress, and retries after a failure until it
+/// gives up.
+class PurgeServiceTest extends IntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+    @Autowired
+    private PurgeService purgeService;
+    @Autowired
+    private ProjectStatusCounters statusCounts;
+    @Autowired
+    private SprintVelocities velocities;
+    @Autowired
+    private TaskEventLog eventLog;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Every test's jobs share the database; finish any an earlier test left so each test counts only its own.
+        asRootTenant(purgeService::run);
+    }
+
+    @Test
+    void sprintDeleteHidesItAtOnceAndPurgesItInChunks() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Sprint ended = sprint("Sprint 1", now.minusWeeks(3), now.minusWeeks(1));
+        Sprint running = sprint("Sprint 2", now.minusWeeks(1), now.plusWeeks(1));
+        Task launch = task(ended, "Launch", Task.Status.TO_DO);
+        task(ended, "Land", Task.Status.TO_DO);
+        task(ended, "Orbit", Task.Status.TO_DO);
+        task(ended, "Dock", Task.Status.DONE);
+        task(ended, "Return", Task.Status.DONE);
+        task(running, "Plan", Task.Status.TO_DO);
+        asRootTenant(velocities::freeze);
+        asRootTenant(eventLog::flush);
+
+        PurgeJob job = sprintService.deleteSprintById(ended.getId(), user, null);
+        assertThat(job.getStatus()).isEqualTo(PurgeJob.Status.PENDING);
+        assertThat(job.getSprintsTotal()).isEqualTo(1);
+        assertThat(job.getTasksTotal()).isEqualTo(5);
+
+        // Hidden before anything is removed.
+        assertThat(sprintService.getSprintsByProjectId(project.getId(), user, null, 50).items())
+                .extracting(sprint -> sprint.id).containsExactly(running.getId());
+        assertThatThrownBy(() -> sprintService.etagOfSprint(ended.getId(), user))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.etagOfTask(launch.getId(), user))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(projectService.getOrganizationOverview(organization.getId(), user).total).isEqualTo(1);
+        assertThat(syncService.getChangesSince(0, user).tasks).extracting(t -> t.title).containsExactly("Plan");
+        assertThat(rowsOf("task", "sprint_id", ended.getId())).isEqualTo(5);
+        assertThat(rowsOf("task_event", "sprint_id", ended.getId())).isEqualTo(5);
+        sprint("Sprint 1", now, now.plusWeeks(2));
+
+        assertThat(asRootTenant(statusCounts::reconcile)).isZero();
+        assertThat(asRootTenant(purgeService::run)).isEqualTo(1);
+        assertThat(asRootTenant(purgeService::run)).isZero();
+
+        assertThat(rowsOf("task", "sprint_id", ended.getId())).isZero();
+        assertThat(rowsOf("task_event", "sprint_id", ended.getId())).isZero();
+        assertThat(rowsOf("sprint_burndown_day", "sprint_id", ended.getId())).isZero();
+        assertThat(rowsOf("sprint_velocity", "sprint_id", ended.getId())).isZero();
+        assertThat(rowsOf("sprint", "id", ended.getId())).isZero();
+        assertThat(rowsOf("task", "sprint_id", running.getId())).isEqualTo(1);
+
+        PurgeJob done = purgeService.getPurgeJob(job.getId());
+        assertThat(done.getStatus()).isEqualTo(PurgeJob.Status.DONE);
+        assertThat(done.getTasksDeleted()).isEqualTo(5);
+        assertThat(done.getSprintsDeleted()).isEqualTo(1);
+        assertThat(done.getError()).isNull();
+    }
+
+    @Test
+    void projectDeleteHidesItsSprintsAndPurgesBottomUp() throws Exception {
+        Sprint first = sprint("Sprint 1", LocalDateTime.now(), LocalDateTime.now().plusWeeks(2));
+        Sprint second = sprint("Sprint 2", LocalDateTime.now().plusWeeks(2), LocalDateTime.now().plusWeeks(4));
+        for (String title : List.of("Launch", "Land", "Orbit")) {
+            task(first, title, Task.Status.TO_DO);
+            task(second, title, Task.Status.DONE);
+        }
+
+        PurgeJob job = projectService.deleteProjectById(project.getId(), user, null);
+        assertThat(job.getSprintsTotal()).isEqualTo(2);
+        assertThat(job.getTasksTotal()).isEqualTo(6);
+
+        assertThatThrownBy(() -> projectService.getProjectById(project.getId(), user))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(projectService.getProjectsByOrganizationId(organization.getId(), user, null, 50).items()).isEmpty();
+        assertThatThrownBy(() -> sprintService.etagOfSprint(second.getId(), user))
+                .isInstanceOf(IllegalArgumentException.class);
+        SyncDto sync = syncService.getChangesSince(0, user);
+        assertThat(sync.projects).isEmpty();
+        assertThat(sync.sprints).isEmpty();
+        assertThat(sync.tasks).isEmpty();
+        Project again = projectService.createNewProject(new Project(0, "Apollo", null, organization), user);
+
+        assertThat(asRootTenant(purgeService::run)).isEqualTo(1);
+        assertThat(rowsOf("task", "sprint_id", first.getId()) + rowsOf("task", "sprint_id", second.getId())).isZero();
+        assertThat(rowsOf("sprint", "project_id", project.getId())).isZero();
+        assertThat(rowsOf("project", "id", project.getId())).isZero();
+        assertThat(rowsOf("project", "id", again.getId())).isEqualTo(1);
+
+        PurgeJob done = purgeService.getPurgeJob(job.getId());
+        assertThat(done.getStatus()).isEqualTo(PurgeJob.Status.DONE);
+        assertThat(done.getSprintsDeleted()).isEqualTo(2);
+        assertThat(done.getTasksDeleted()).isEqualTo(6);
+    }
+
+    @Test
+    void eventsStillQueuedForADeletedSprintAreNotWritten() throws Exception {
+        Sprint sprint = sprint("Sprint 1");
+        task(sprint, "Launch", Task.Status.TO_DO);
+        sprintService.deleteSprintById(sprint.getId(), user, null);
+        assertThat(asRootTenant(purgeService::run)).isEqualTo(1);
+
+        asRootTenant(eventLog::flush);
+        assertThat(rowsOf("task_event", "sprint_id", sprint.getId())).isZero();
+        assertThat(rowsOf("sprint_burndown_day", "sprint_id", sprint.getId())).isZero();
+    }
+
+    @Test
+    void failedJobKeepsItsErrorAndIsRetriedAfterABackoff() throws Exception {
+        Sprint sprint = sprint("Sprint 1", LocalDateTime.now(), LocalDateTime.now().plusWeeks(2));
+        task(sprint, "Launch", Task.Status.TO_DO);
+        PurgeJob job = projectService.deleteProjectById(project.getId(), user, null);
+        blockProjectRemoval();
+
+        assertThat(asRootTenant(purgeService::run)).isZero();
+        PurgeJob failed = purgeService.getPurgeJob(job.getId());
+        assertThat(failed.getStatus()).isEqualTo(PurgeJob.Status.RUNNING);
+        assertThat(failed.getError()).isNotBlank();
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(failed.getTasksDeleted()).isEqualTo(1);
+        assertThat(failed.getSprintsDeleted()).isEqualTo(1);
+
+        // Not due yet.
+        assertThat(asRootTenant(purgeService::run)).isZero();
+        assertThat(purgeService.getPurgeJob(job.getId()).getAttempts()).isEqualTo(1);
+
+        jdbcTemplate.update("delete from project_status_count where project_id = ?", project.getId());
+        makeDue(job);
+        assertThat(asRootTenant(purgeService::run)).isEqualTo(1);
+        PurgeJob done = purgeService.getPurgeJob(job.getId());
+        assertThat(done.getStatus()).isEqualTo(PurgeJob.Status.DONE);
+        assertThat(done.getError()).isNull();
+        assertThat(done.getNextAttemptAt()).isNull();
+        assertThat(rowsOf("project", "id", project.getId())).isZero();
+    }
+
+    @Test
+    void jobThatKeepsFailingIsFailedAndNotRunAgain() throws Exception {
+        PurgeJob job = projectService.deleteProjectById(project.getId(), user, null);
+        blockProjectRemoval();
+
+        // purge.max-attempts is 3 in the tests.
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            makeDue(job);
+            assertThat(asRootTenant(purgeService::run)).isZero();
+            assertThat(purgeService.getPurgeJob(job.getId()).getAttempts()).isEqualTo(attempt);
+        }
+        PurgeJob failed = purgeService.getPurgeJob(job.getId());
+        assertThat(failed.getStatus()).isEqualTo(PurgeJob.Status.FAILED);
+        assertThat(failed.getError()).isNotBlank();
+        assertThat(failed.getNextAttemptAt()).isNull();
+
+        makeDue(job);
+        assertThat(asRootTenant(purgeService::run)).isZero();
+        assertThat(purgeService.getPurgeJob(job.getId()).getAttempts()).isEqualTo(3);
+        assertThat(rowsOf("project", "id", project.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void jobsAreVisibleToTheirOrganizationOnly() throws Exception {
+        PurgeJob job = projectService.deleteProjectById(project.getId(), user, null);
+
+        Organization other = newOrganization();
+        User outsider = newUser(other);
+        signIn(outsider);
+        assertThatThrownBy(() -> purgeService.getPurgeJob(job.getId()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // A row the purge doesn't know about still references the project, so removing the project fails.
+    private void blockProjectRemoval() {
+        jdbcTemplate.update("insert into project_status_count (project_id, status, organization_id, task_count) "
+                + "values (?, 'TO_DO', ?, 0)", project.getId(), organization.getId());
+    }
+
+    private void makeDue(PurgeJob job) {
+        jdbcTemplate.update("update purge_job set next_attempt_at = ? where id = ? and next_attempt_at is not null",
+                LocalDateTime.now().minusSeconds(1), job.getId());
+    }
+
+    private long rowsOf(String table, String column, long id) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, id);
+    }
+}
@@ -0,0 +1,131 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dbelanger.spring.agileapi.exception.PreconditionFailedException;
+import com.dbelanger.spring.agileapi.service.ResourceVersions.Scope;
+
+@ActiveProfiles("test")
+class ResourceVersionsTest {
+
+    private ResourceVersions versions;
+
+    @BeforeEach
+    void init() {
+        versions = new ResourceVersions(100);
+    }
+
+    @Test
+    void tagIsStableUntilBumped() {
+        String tag = versions.tag(Scope.SPRINT, 3L);
+
+        assertThat(versions.tag(Scope.SPRINT, 3L)).isEqualTo(tag);
+        assertThat(versions.tag(Scope.PROJECT, 3L)).isNotEqualTo(tag);
+
+        versions.bump(Scope.SPRINT, 3L);
+        assertThat(versions.tag(Scope.SPRINT, 3L)).isNotEqualTo(tag);
+    }
+
+    @Test
+    void tagsFromAnotherProcessNeverMatch() {
+        assertThat(new ResourceVersions(100).tag(Scope.SPRINT, 3L)).isNotEqualTo(versions.tag(Scope.SPRINT, 3L));
+    }
+
+    @Test
+    void writeChecksIfMatchAndBumps() throws Exception {
+        String tag = versions.tag(Scope.SPRINT, 3L);
+
+        assertThat(versions.write(Scope.SPRINT, 3L, "\"other\", \"" + tag + "\"", () -> "done")).isEqualTo("done");
+        assertThat(versions.tag(Scope.SPRINT, 3L)).isNotEqualTo(tag);
+
+        assertThatThrownBy(() -> versions.write(Scope.SPRINT, 3L, "\"" + tag + "\"", () -> "again"))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> versions.write(Scope.SPRINT, 3L, "W/\"" + versions.tag(Scope.SPRINT, 3L) + "\"", () -> "weak"))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(versions.write(Scope.SPRINT, 3L, "*", () -> "any")).isEqualTo("any");
+    }
+
+    @Test
+    void onlyConditionalWritesToTheSameResourceWaitForEachOther() throws Exception {
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread conditional = Thread.ofVirtual().start(() -> {
+            try {
+                versions.write(Scope.SPRINT, 3L, "*", () -> {
+                    holding.countDown();
+                    return await(release);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(await(holding)).isTrue();
+
+        assertThat(versions.write(Scope.SPRINT, 3L, null, () -> "unconditional")).isEqualTo("unconditional");
+        assertThat(versions.write(Scope.SPRINT, 4L, "*", () -> "other sprint")).isEqualTo("other sprint");
+        Thread waiting = Thread.ofVirtual().start(() -> {
+            try {
+                versions.write(Scope.SPRINT, 3L, "*", () -> "after");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(waiting.join(Duration.ofMillis(200))).isFalse();
+
+        release.countDown();
+        conditional.join();
+        assertThat(waiting.join(Duration.ofSeconds(5))).isTrue();
+    }
+
+    @Test
+    void failedWriteKeepsTheVersion() {
+        String tag = versions.tag(Scope.SPRINT, 3L);
+
+        assertThatThrownBy(() -> versions.write(Scope.SPRINT, 3L, null, () -> {
+            throw new IllegalArgumentException("Task at 11 not found.");
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThat(versions.tag(Scope.SPRINT, 3L)).isEqualTo(tag);
+    }
+
+    @Test
+    void bumpWaitsForTheTransactionToCommit() {
+        List<Long> bumped = new ArrayList<>();
+        versions.onBump(Scope.SPRINT, bumped::add);
+        String tag = versions.tag(Scope.SPRINT, 3L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(Scope.SPRINT, 3L);
+            assertThat(versions.tag(Scope.SPRINT, 3L)).isEqualTo(tag);
+            assertThat(bumped).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(versions.tag(Scope.SPRINT, 3L)).isNotEqualTo(tag);
+        assertThat(bumped).containsExactly(3L);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
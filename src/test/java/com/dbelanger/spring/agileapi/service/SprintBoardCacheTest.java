@@ -0,0 +1,84 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.TaskResponseDto;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ActiveProfiles("test")
+class SprintBoardCacheTest {
+
+    private MeterRegistry meterRegistry;
+    private ResourceVersions versions;
+    private SprintBoardCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        versions = new ResourceVersions(100);
+        cache = new SprintBoardCache(new ObjectMapper(), meterRegistry, versions, 1 << 20);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void servesRepeatReadsFromTheCache() {
+        SprintBoardCache.Page first = cache.get(3L, "all", board("A"));
+        SprintBoardCache.Page second = cache.get(3L, "all", board("B"));
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(second.json(), StandardCharsets.UTF_8)).contains("\"title\":\"A\"");
+        assertThat(second.nextCursor()).isEqualTo("next");
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", "tasks.board", "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sprintBumpRetiresOnlyThatSprint() {
+        cache.get(3L, "all", board("A"));
+        cache.get(3L, "done", board("A"));
+        cache.get(4L, "all", board("A"));
+
+        versions.bump(ResourceVersions.Scope.SPRINT, 3L);
+
+        assertThat(meterRegistry.get("cache.size").tags("cache", "tasks.board").gauge().value()).isEqualTo(1);
+        assertThat(jsonOf(cache.get(3L, "all", board("B")))).contains("\"title\":\"B\"");
+        assertThat(jsonOf(cache.get(3L, "done", board("B")))).contains("\"title\":\"B\"");
+        assertThat(jsonOf(cache.get(4L, "all", board("B")))).contains("\"title\":\"A\"");
+    }
+
+    @Test
+    void pageLoadedDuringAWriteIsNotServedAfterIt() {
+        cache.get(3L, "all", () -> {
+            versions.bump(ResourceVersions.Scope.SPRINT, 3L);
+            return board("stale").get();
+        });
+
+        assertThat(jsonOf(cache.get(3L, "all", board("fresh")))).contains("\"title\":\"fresh\"");
+    }
+
+    private Supplier<CursorPage<TaskResponseDto>> board(String title) {
+        return () -> {
+            loads.incrementAndGet();
+            return new CursorPage<>(List.of(new TaskResponseDto(1L, title, null, Task.Status.TO_DO, 1, 8L, 3L)), "next");
+        };
+    }
+
+    private static String jsonOf(SprintBoardCache.Page page) {
+        return new String(page.json(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,139 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dbelanger.spring.agileapi.exception.OverloadedException;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SprintChangeFeedTest {
+
+    private static final Pattern EVENT_NAME = Pattern.compile("event:(\\S+)");
+
+    private SimpleMeterRegistry meterRegistry;
+    private SprintChangeFeed feed;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        feed = new SprintChangeFeed(meterRegistry, 4, 3, 60_000, 30);
+    }
+
+    @Test
+    void changesReachTheSprintsSubscribersInOrder() throws Exception {
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        List<String> otherSprint = new CopyOnWriteArrayList<>();
+        feed.register(3L, event -> first.add(nameOf(event)), () -> { });
+        feed.register(3L, event -> second.add(nameOf(event)), () -> { });
+        feed.register(4L, event -> otherSprint.add(nameOf(event)), () -> { });
+
+        feed.created(3L, task(11L));
+        feed.updated(3L, task(11L));
+        feed.deleted(3L, 11L);
+
+        List<String> expected = List.of(SprintChangeFeed.CREATED, SprintChangeFeed.UPDATED, SprintChangeFeed.DELETED);
+        awaitSize(first, 3);
+        awaitSize(second, 3);
+        assertThat(first).isEqualTo(expected);
+        assertThat(second).isEqualTo(expected);
+        assertThat(otherSprint).isEmpty();
+    }
+
+    @Test
+    void slowSubscriberIsToldToResyncWithoutHoldingUpOthers() throws Exception {
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> slow = new CopyOnWriteArrayList<>();
+        List<String> fast = new CopyOnWriteArrayList<>();
+        feed.register(3L, event -> {
+            sending.countDown();
+            awaitQuietly(release);
+            slow.add(nameOf(event));
+        }, () -> { });
+        feed.register(3L, event -> fast.add(nameOf(event)), () -> { });
+
+        feed.created(3L, task(1L));
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+        awaitSize(fast, 1);
+        // The fast subscriber keeps up with every change while the slow one's queue of four overflows.
+        for (int id = 2; id <= 7; id++) {
+            feed.created(3L, task(id));
+            awaitSize(fast, id);
+        }
+        release.countDown();
+
+        awaitSize(slow, 2);
+        assertThat(slow).containsExactly(SprintChangeFeed.CREATED, SprintChangeFeed.RESYNC);
+        assertThat(meterRegistry.get("tasks.sse.resyncs").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void failedSendClosesTheSubscriber() throws Exception {
+        CountDownLatch completed = new CountDownLatch(1);
+        feed.register(3L, event -> {
+            throw new IOException("Broken pipe");
+        }, completed::countDown);
+        assertThat(meterRegistry.get("tasks.sse.connections").gauge().value()).isEqualTo(1);
+
+        feed.heartbeat();
+
+        assertThat(completed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("tasks.sse.connections").gauge().value()).isZero();
+    }
+
+    @Test
+    void connectionsAreCapped() {
+        for (int i = 0; i < 3; i++) {
+            feed.register(3L, event -> { }, () -> { });
+        }
+        assertThatThrownBy(() -> feed.register(3L, event -> { }, () -> { }))
+                .isInstanceOfSatisfying(OverloadedException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(30));
+    }
+
+    private static Task task(long id) {
+        Sprint sprint = new Sprint();
+        sprint.setId(3L);
+        return new Task(id, "Task " + id, null, Task.Status.TO_DO, 2, null, sprint);
+    }
+
+    private static String nameOf(SseEmitter.SseEventBuilder event) {
+        String text = event.build().stream()
+                .map(part -> part.getData() instanceof String s ? s : "")
+                .collect(Collectors.joining());
+        Matcher name = EVENT_NAME.matcher(text);
+        return name.find() ? name.group(1) : text.trim();
+    }
+
+    private static void awaitSize(List<String> received, int size) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (received.size() < size && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(received).hasSize(size);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
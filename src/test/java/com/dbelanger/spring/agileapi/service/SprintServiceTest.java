@@ -1,25 +1,40 @@
 package com.dbelanger.spring.agileapi.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintResponseDto;
+import com.dbelanger.spring.agileapi.dto.TaskGroupCountDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.PurgeJob;
 import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.ProjectRepository;
 import com.dbelanger.spring.agileapi.repository.SprintRepository;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
 
 @ActiveProfiles("test")
 class SprintServiceTest {
@@ -29,7 +44,21 @@ class SprintServiceTest {
     @Mock
     private ProjectRepository projectRepository;
     @Mock
-    private OrganizationService organizationService;
+    private TaskRepository taskRepository;
+    @Mock
+    private ProjectStatusCounters statusCounts;
+    @Mock
+    private SprintVelocities velocities;
+    @Mock
+    private Tombstones tombstones;
+    @Mock
+    private PurgeService purges;
+    @Mock
+    private OwnershipResolver ownership;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
 
     @InjectMocks
     private SprintService sprintService;
@@ -47,23 +76,60 @@ class SprintServiceTest {
         project = new Project();
         project.setOrganization(org);
         project.setId(5L);
+        when(ownership.requireOwnProject(5L, user)).thenReturn(1L);
+    }
+
+    private SprintResponseDto dto(long id) {
+        return new SprintResponseDto(id, "Sprint " + id, null, null, 5L);
     }
 
     @Test
     void getSprintsByProjectId_returnsList() throws Exception {
-        when(projectRepository.findById(5L)).thenReturn(Optional.of(project));
-        when(sprintRepository.findAllByProjectId(5L)).thenReturn(List.of(new Sprint()));
-        List<Sprint> result = sprintService.getSprintsByProjectId(5L, user);
-        assertThat(result).hasSize(1);
+        when(sprintRepository.findPageByProjectId(5L, 0L, Limit.of(51))).thenReturn(List.of(dto(10L)));
+        CursorPage<SprintResponseDto> result = sprintService.getSprintsByProjectId(5L, user, null, 50);
+        assertThat(result.items()).hasSize(1);
+        verify(ownership).requireOwnProject(5L, user);
+        verify(projectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getSprintsByProjectId_foreignProjectIsNotFound() {
+        when(ownership.requireOwnProject(6L, user)).thenThrow(new IllegalArgumentException("Project at 6 not found."));
+        assertThatThrownBy(() -> sprintService.getSprintsByProjectId(6L, user, null, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(sprintRepository, never()).findPageByProjectId(anyLong(), anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getSprintsByProjectId_seeksPastCursor() throws Exception {
+        SprintResponseDto s1 = dto(11L);
+        SprintResponseDto s2 = dto(12L);
+        SprintResponseDto s3 = dto(13L);
+        when(sprintRepository.findPageByProjectId(5L, 0L, Limit.of(3))).thenReturn(List.of(s1, s2, s3));
+        CursorPage<SprintResponseDto> first = sprintService.getSprintsByProjectId(5L, user, null, 2);
+        assertThat(first.items()).containsExactly(s1, s2);
+        assertThat(first.nextCursor()).isNotNull();
+
+        when(sprintRepository.findPageByProjectId(5L, 12L, Limit.of(3))).thenReturn(List.of(s3));
+        CursorPage<SprintResponseDto> second = sprintService.getSprintsByProjectId(5L, user, first.nextCursor(), 2);
+        assertThat(second.items()).containsExactly(s3);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void getSprintsByProjectId_rejectsOversizedLimit() {
+        assertThatThrownBy(() -> sprintService.getSprintsByProjectId(5L, user, null, 10_000))
+                .isInstanceOf(IllegalArgumentException.class);
     }
 
     @Test
     void createSprint_saves() throws Exception {
-        when(projectRepository.findById(5L)).thenReturn(Optional.of(project));
+        when(projectRepository.getReferenceById(5L)).thenReturn(project);
         Sprint s = new Sprint();
         when(sprintRepository.save(any(Sprint.class))).thenAnswer(inv -> inv.getArgument(0));
         Sprint saved = sprintService.createSprint(s, 5L, user);
         assertThat(saved.getProject()).isSameAs(project);
+        assertThat(saved.getOrganizationId()).isEqualTo(1L);
     }
 
     @Test
@@ -80,19 +146,37 @@ class SprintServiceTest {
         Sprint s = new Sprint();
         s.setProject(project);
         when(sprintRepository.findById(9L)).thenReturn(Optional.of(s));
-        when(sprintRepository.save(s)).thenReturn(s);
+        when(sprintRepository.saveAndFlush(s)).thenReturn(s);
         Sprint patch = new Sprint();
         patch.setName("new");
-        Sprint updated = sprintService.updateSprintById(9L, patch, user);
+        String sprintTag = versions.tag(ResourceVersions.Scope.SPRINT, 9L);
+        String listTag = versions.tag(ResourceVersions.Scope.PROJECT, 5L);
+        Sprint updated = sprintService.updateSprintById(9L, patch, user, null);
         assertThat(updated.getName()).isEqualTo("new");
+        assertThat(versions.tag(ResourceVersions.Scope.SPRINT, 9L)).isNotEqualTo(sprintTag);
+        assertThat(versions.tag(ResourceVersions.Scope.PROJECT, 5L)).isNotEqualTo(listTag);
     }
 
     @Test
-    void deleteSprintById_deletes() throws Exception {
+    void deleteSprintById_hidesTheSprintAndQueuesItsPurge() throws Exception {
         Sprint s = new Sprint();
         s.setProject(project);
+        s.setOrganizationId(1L);
+        PurgeJob job = new PurgeJob(PurgeJob.Target.SPRINT, 9L, 1L, 1, 5, LocalDateTime.now());
+        when(ownership.requireOwnSprint(9L, user)).thenReturn(1L);
         when(sprintRepository.findById(9L)).thenReturn(Optional.of(s));
-        sprintService.deleteSprintById(9L, user);
-        verify(sprintRepository).delete(s);
+        when(taskRepository.countGroupsBySprintId(9L)).thenReturn(List.of(
+                new TaskGroupCountDto(Task.Status.TO_DO, 1, null, 2),
+                new TaskGroupCountDto(Task.Status.TO_DO, 3, 10L, 1),
+                new TaskGroupCountDto(Task.Status.DONE, 2, null, 2)));
+        when(purges.enqueue(PurgeJob.Target.SPRINT, 9L, 1L, 1, 5)).thenReturn(job);
+
+        assertThat(sprintService.deleteSprintById(9L, user, null)).isSameAs(job);
+        assertThat(s.isDeleted()).isTrue();
+        verify(sprintRepository).saveAndFlush(s);
+        verify(sprintRepository, never()).delete(any());
+        verify(statusCounts).add(9L, Map.of(Task.Status.TO_DO, -3L, Task.Status.DONE, -2L));
+        verify(tombstones).record(Tombstone.Type.SPRINT, 9L, 1L);
+        verify(ownership).evictSprint(9L);
     }
 }
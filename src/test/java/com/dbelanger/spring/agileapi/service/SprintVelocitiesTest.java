@@ -0,0 +1,76 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.ProjectVelocityDto;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Ended sprints keep the completed count frozen when they ended; running ones are counted live.
+class SprintVelocitiesTest extends IntegrationTest {
+
+    @Autowired
+    private SprintVelocities velocities;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Freeze what earlier tests left ended, so each test's freeze covers only its own sprints.
+        asRootTenant(velocities::freeze);
+    }
+
+    @Test
+    void endedSprintsAreFrozenAndRunningOnesCountedLive() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Sprint ended = sprint("Sprint 1", now.minusWeeks(3), now.minusWeeks(1));
+        Sprint running = sprint("Sprint 2", now.minusWeeks(1), now.plusWeeks(1));
+        sprint("Sprint 3", now.plusWeeks(1), now.plusWeeks(3));
+        Task late = task(ended, "Launch", Task.Status.DONE);
+        task(ended, "Land", Task.Status.DONE);
+        task(ended, "Orbit", Task.Status.TO_DO);
+        task(running, "Dock", Task.Status.DONE);
+
+        ProjectVelocityDto live = projectService.getVelocity(project.getId(), user, 6);
+        assertThat(live.sprints).extracting(sprint -> sprint.sprintId).containsExactly(ended.getId(), running.getId());
+        assertThat(live.sprints).extracting(sprint -> sprint.completedTasks).containsExactly(2L, 1L);
+        assertThat(live.averageCompletedTasks).isNull();
+
+        assertThat(asRootTenant(velocities::freeze)).isEqualTo(1);
+        assertThat(asRootTenant(velocities::freeze)).isZero();
+
+        // History stays as it was when the sprint ended.
+        Task reopen = new Task();
+        reopen.setStatus(Task.Status.TO_DO);
+        taskService.updateTaskById(late.getId(), reopen, user, null);
+
+        ProjectVelocityDto frozen = projectService.getVelocity(project.getId(), user, 6);
+        assertThat(frozen.sprints).extracting(sprint -> sprint.frozen).containsExactly(true, false);
+        assertThat(frozen.sprints).extracting(sprint -> sprint.completedTasks).containsExactly(2L, 1L);
+        assertThat(frozen.averageCompletedTasks).isEqualTo(2.0);
+        assertThat(projectService.getVelocity(project.getId(), user, 1).sprints)
+                .extracting(sprint -> sprint.sprintId).containsExactly(running.getId());
+    }
+
+    @Test
+    void movingTheEndDateThawsTheSprint() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        Sprint ended = sprint("Sprint 1", now.minusWeeks(3), now.minusWeeks(1));
+        task(ended, "Launch", Task.Status.DONE);
+        asRootTenant(velocities::freeze);
+
+        Sprint extended = new Sprint();
+        extended.setEndDate(now.plusDays(2));
+        sprintService.updateSprintById(ended.getId(), extended, user, null);
+
+        assertThat(projectService.getVelocity(project.getId(), user, 6).sprints)
+                .singleElement().satisfies(sprint -> {
+                    assertThat(sprint.frozen).isFalse();
+                    assertThat(sprint.completedTasks).isEqualTo(1);
+                });
+    }
+}
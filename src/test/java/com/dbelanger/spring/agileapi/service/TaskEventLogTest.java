@@ -0,0 +1,164 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.BurndownDto;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+
+/// Task writes only queue their events; a flush writes them and folds them into the day buckets the burndown reads.
+/// A bulk update that races a single-task PATCH records, and counts, only the changes it actually made.
+class TaskEventLogTest extends IntegrationTest {
+
+    @Autowired
+    private TaskEventLog eventLog;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Earlier tests' events are still queued; write them out so each test flushes only its own.
+        asRootTenant(eventLog::flush);
+        sprint = sprint("Sprint 1", LocalDateTime.now().minusDays(1), LocalDateTime.now().plusWeeks(2));
+    }
+
+    @Test
+    void changesAreRecordedOnFlush() throws Exception {
+        Task launch = taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+        Task land = taskService.createTask(newTask("Land"), sprint.getId(), user.getId(), user);
+        Task patch = new Task();
+        patch.setStatus(Task.Status.DONE);
+        patch.setPriority(4);
+        taskService.updateTaskById(launch.getId(), patch, user, null);
+        taskService.deleteTaskById(land.getId(), user, null);
+        assertThat(events()).isEmpty();
+
+        assertThat(asRootTenant(eventLog::flush)).isEqualTo(5);
+        assertThat(events()).containsExactly("CREATED", "CREATED", "STATUS", "PRIORITY", "DELETED");
+        assertThat(asRootTenant(eventLog::flush)).isZero();
+    }
+
+    @Test
+    void burndownFollowsTheFlushedEvents() throws Exception {
+        Task launch = taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+        taskService.createTask(newTask("Land"), sprint.getId(), user.getId(), user);
+        taskService.createTask(newTask("Orbit"), sprint.getId(), user.getId(), user);
+        BulkTaskUpdateRequest finish = new BulkTaskUpdateRequest();
+        finish.filter = new BulkTaskUpdateRequest.Filter();
+        finish.filter.ids = List.of(launch.getId());
+        finish.set = new BulkTaskUpdateRequest.Changes();
+        finish.set.status = Task.Status.DONE;
+        taskService.updateTasks(sprint.getId(), finish, user, null);
+        asRootTenant(eventLog::flush);
+
+        BurndownDto burndown = taskService.getBurndown(sprint.getId(), user);
+        assertThat(burndown.days).extracting(day -> day.date)
+                .containsExactly(LocalDate.now().minusDays(1), LocalDate.now());
+        assertThat(burndown.days).extracting(day -> day.remaining).containsExactly(0L, 2L);
+
+        taskService.deleteTaskById(launch.getId(), user, null);
+        asRootTenant(eventLog::flush);
+        assertThat(taskService.getBurndown(sprint.getId(), user).days)
+                .extracting(day -> day.remaining).containsExactly(0L, 2L);
+    }
+
+    @Test
+    void bulkUpdateRacingAPatchRecordsAndCountsOnlyWhatItChanged() throws Exception {
+        Task launch = task(sprint, "Launch");
+        Task land = task(sprint, "Land");
+        CountDownLatch patched = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        Thread patcher = Thread.ofVirtual().start(() -> {
+            signIn(user);
+            new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                try {
+                    Task finish = new Task();
+                    finish.setStatus(Task.Status.DONE);
+                    taskService.updateTaskById(launch.getId(), finish, user, null);
+                    patched.countDown();
+                    commit.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        });
+        assertThat(patched.await(10, TimeUnit.SECONDS)).isTrue();
+
+        BulkTaskUpdateRequest start = new BulkTaskUpdateRequest();
+        start.filter = new BulkTaskUpdateRequest.Filter();
+        start.filter.status = Task.Status.TO_DO;
+        start.set = new BulkTaskUpdateRequest.Changes();
+        start.set.status = Task.Status.IN_PROGRESS;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> updated = executor.submit(() -> {
+                signIn(user);
+                return taskService.updateTasks(sprint.getId(), start, user, null);
+            });
+            // The bulk update is now waiting on the PATCH's row lock.
+            Thread.sleep(200);
+            commit.countDown();
+            patcher.join();
+            assertThat(updated.get(10, TimeUnit.SECONDS)).isEqualTo(1);
+        }
+        asRootTenant(eventLog::flush);
+
+        assertThat(statusChanges()).containsExactly(
+                launch.getId() + ":TO_DO>DONE", land.getId() + ":TO_DO>IN_PROGRESS");
+        assertThat(counters()).isEqualTo(recount());
+    }
+
+    private List<String> statusChanges() {
+        return jdbcTemplate.queryForList("select task_id || ':' || old_value || '>' || new_value from task_event "
+                + "where sprint_id = ? and kind = 'STATUS' order by id", String.class, sprint.getId());
+    }
+
+    private Map<String, Long> counters() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("select status, task_count from project_status_count where project_id = ? and task_count > 0",
+                row -> {
+                    counts.put(row.getString(1), row.getLong(2));
+                }, project.getId());
+        return counts;
+    }
+
+    private Map<String, Long> recount() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("select t.status, count(*) from task t join sprint s on s.id = t.sprint_id "
+                + "where s.project_id = ? group by t.status", row -> {
+                    counts.put(row.getString(1), row.getLong(2));
+                }, project.getId());
+        return counts;
+    }
+
+    private List<String> events() {
+        return jdbcTemplate.queryForList("select kind from task_event where sprint_id = ? order by id",
+                String.class, sprint.getId());
+    }
+
+    private static Task newTask(String title) {
+        return new Task(0, title, null, Task.Status.TO_DO, 2, null, null);
+    }
+}
@@ -1,24 +1,62 @@
 package com.dbelanger.spring.agileapi.service;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import jakarta.validation.Validation;
+
+import com.dbelanger.spring.agileapi.dto.BulkTaskResultDto;
+import com.dbelanger.spring.agileapi.dto.BulkTaskUpdateRequest;
+import com.dbelanger.spring.agileapi.dto.BurndownDto;
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.SprintSummaryDto;
+import com.dbelanger.spring.agileapi.dto.TaskGroupCountDto;
+import com.dbelanger.spring.agileapi.dto.TaskRequest;
+import com.dbelanger.spring.agileapi.dto.TaskStateDto;
+import com.dbelanger.spring.agileapi.exception.PreconditionFailedException;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.Project;
 import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.SprintBurndownDay;
 import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.model.TaskEvent;
+import com.dbelanger.spring.agileapi.model.Tombstone;
 import com.dbelanger.spring.agileapi.model.User;
+import com.dbelanger.spring.agileapi.repository.SprintBurndownDayRepository;
 import com.dbelanger.spring.agileapi.repository.SprintRepository;
 import com.dbelanger.spring.agileapi.repository.TaskRepository;
 import com.dbelanger.spring.agileapi.repository.UserRepository;
@@ -33,7 +71,23 @@ class TaskServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private OrganizationService organizationService;
+    private OwnershipResolver ownership;
+    @Mock
+    private SprintBoardCache boardCache;
+    @Mock
+    private ProjectStatusCounters statusCounts;
+    @Mock
+    private TaskEventLog eventLog;
+    @Mock
+    private SprintChangeFeed changeFeed;
+    @Mock
+    private Tombstones tombstones;
+    @Mock
+    private SprintBurndownDayRepository burndownDays;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Spy
+    private ResourceVersions versions = new ResourceVersions(100);
 
     @InjectMocks
     private TaskService taskService;
@@ -53,21 +107,89 @@ class TaskServiceTest {
         sprint = new Sprint();
         sprint.setId(3L);
         sprint.setProject(project);
+        when(ownership.requireOwnSprint(3L, user)).thenReturn(1L);
+        when(sprintRepository.getReferenceById(3L)).thenReturn(sprint);
+        when(ownership.requireOwnTask(11L, user)).thenReturn(3L);
     }
 
     @Test
-    void getTasks_filters() throws Exception {
-        when(sprintRepository.findById(3L)).thenReturn(Optional.of(sprint));
+    @SuppressWarnings("unchecked")
+    void getTasks_pushesFiltersAndSortToRepository() throws Exception {
         Task t1 = new Task(); t1.setStatus(Task.Status.TO_DO); t1.setPriority(3); t1.setAssignee(user);
-        Task t2 = new Task(); t2.setStatus(Task.Status.IN_PROGRESS); t2.setPriority(5); t2.setAssignee(user);
-        when(taskRepository.findAllBySprintId(3L)).thenReturn(List.of(t1, t2));
-        List<Task> filtered = taskService.getTasksBySprintId(3L, user, Task.Status.TO_DO, null, null);
-        assertThat(filtered).containsExactly(t1);
+        FluentQuery.FetchableFluentQuery<Task> query = mock(FluentQuery.FetchableFluentQuery.class, RETURNS_SELF);
+        when(query.all()).thenReturn(List.of(t1));
+        when(taskRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenAnswer(inv -> inv.<Function<FluentQuery.FetchableFluentQuery<Task>, Object>>getArgument(1).apply(query));
+
+        CursorPage<Task> filtered = taskService.getTasksBySprintId(3L, user, Task.Status.TO_DO, null, null,
+                Sort.by(Sort.Direction.DESC, "priority"), null, 50);
+
+        assertThat(filtered.items()).containsExactly(t1);
+        assertThat(filtered.nextCursor()).isNull();
+        verify(query).sortBy(Sort.by(Sort.Direction.DESC, "priority").and(Sort.by("id")));
+        verify(query).limit(51);
     }
 
     @Test
-    void createTask_success() throws Exception {
+    void getTasks_rejectsUnknownSortProperty() {
+        assertThatThrownBy(() -> taskService.getTasksBySprintId(3L, user, null, null, null, Sort.by("assignee.password"), null, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTaskPage_authorizesBeforeTheCache() throws Exception {
+        when(ownership.requireOwnSprint(4L, user)).thenThrow(new IllegalArgumentException("Sprint at 4 not found."));
+
+        assertThatThrownBy(() -> taskService.getTaskPage(4L, user, null, null, null, Sort.unsorted(), null, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(boardCache);
+    }
+
+    @Test
+    void getTaskPage_keysTheCacheByQuery() throws Exception {
+        taskService.getTaskPage(3L, user, Task.Status.DONE, 2, 8L, Sort.by("title"), null, 20);
+
+        verify(boardCache).get(eq(3L), eq("DONE|2|8|title: ASC,id: ASC|null|20"), any());
+    }
+
+    @Test
+    void getSprintSummary_foldsGroupedCounts() {
+        when(taskRepository.countGroupsBySprintId(3L)).thenReturn(List.of(
+                new TaskGroupCountDto(Task.Status.TO_DO, 2, 8L, 3),
+                new TaskGroupCountDto(Task.Status.TO_DO, 4, 9L, 1),
+                new TaskGroupCountDto(Task.Status.DONE, 2, 8L, 2)));
+
+        SprintSummaryDto summary = taskService.getSprintSummary(3L, user);
+
+        assertThat(summary.total).isEqualTo(6);
+        assertThat(summary.byStatus).containsExactly(
+                entry(Task.Status.TO_DO, 4L), entry(Task.Status.IN_PROGRESS, 0L),
+                entry(Task.Status.DONE, 2L), entry(Task.Status.BLOCKED, 0L));
+        assertThat(summary.byPriority).containsExactly(
+                entry(1, 0L), entry(2, 5L), entry(3, 0L), entry(4, 1L), entry(5, 0L));
+        assertThat(summary.byAssignee).containsExactly(entry(8L, 5L), entry(9L, 1L));
+    }
+
+    @Test
+    void getBurndown_sumsTheDayBuckets() {
+        LocalDate start = LocalDate.now().minusDays(3);
+        sprint.setStartDate(start.atTime(9, 0));
+        sprint.setEndDate(start.plusWeeks(2).atTime(17, 0));
         when(sprintRepository.findById(3L)).thenReturn(Optional.of(sprint));
+        when(burndownDays.findBySprintId(3L)).thenReturn(List.of(
+                new SprintBurndownDay(3L, start.minusDays(2), 1L, 5),
+                new SprintBurndownDay(3L, start.plusDays(1), 1L, -2),
+                new SprintBurndownDay(3L, start.plusDays(3), 1L, 1)));
+
+        BurndownDto burndown = taskService.getBurndown(3L, user);
+
+        assertThat(burndown.days).extracting(day -> day.date)
+                .containsExactly(start, start.plusDays(1), start.plusDays(2), start.plusDays(3));
+        assertThat(burndown.days).extracting(day -> day.remaining).containsExactly(5L, 3L, 3L, 4L);
+    }
+
+    @Test
+    void createTask_success() throws Exception {
         User assignee = new User();
         assignee.setId(8L);
         Organization org = user.getOrganization();
@@ -76,11 +198,16 @@ class TaskServiceTest {
         Task task = new Task();
         task.setTitle("T1");
         task.setPriority(2);
-        when(taskRepository.existsByTitleAndSprint_Id("T1", 3L)).thenReturn(false);
         when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+        String before = versions.tag(ResourceVersions.Scope.SPRINT, 3L);
         Task saved = taskService.createTask(task, 3L, 8L, user);
         assertThat(saved.getAssignee()).isEqualTo(assignee);
         assertThat(saved.getSprint()).isEqualTo(sprint);
+        assertThat(versions.tag(ResourceVersions.Scope.SPRINT, 3L)).isNotEqualTo(before);
+        verify(statusCounts).add(3L, Task.Status.TO_DO, 1);
+        verify(eventLog).append(argThat(events -> events.size() == 1
+                && events.iterator().next().getKind() == TaskEvent.Kind.CREATED));
+        verify(changeFeed).created(3L, saved);
     }
 
     @Test
@@ -89,24 +216,166 @@ class TaskServiceTest {
         existing.setSprint(sprint);
         existing.setPriority(2);
         when(taskRepository.findById(11L)).thenReturn(Optional.of(existing));
-        when(taskRepository.save(existing)).thenReturn(existing);
+        when(taskRepository.saveAndFlush(existing)).thenReturn(existing);
         Task patch = new Task();
         patch.setTitle("new");
         patch.setPriority(4);
         User newAssignee = new User(); newAssignee.setId(9L); newAssignee.setOrganization(user.getOrganization());
         patch.setAssignee(newAssignee);
         when(userRepository.findById(9L)).thenReturn(Optional.of(newAssignee));
-        Task updated = taskService.updateTaskById(11L, patch, user);
+        String before = versions.tag(ResourceVersions.Scope.SPRINT, 3L);
+        Task updated = taskService.updateTaskById(11L, patch, user, "\"" + before + "\"");
         assertThat(updated.getTitle()).isEqualTo("new");
         assertThat(updated.getPriority()).isEqualTo(4);
         assertThat(updated.getAssignee()).isEqualTo(newAssignee);
+        assertThat(versions.tag(ResourceVersions.Scope.SPRINT, 3L)).isNotEqualTo(before);
+        verify(changeFeed).updated(3L, existing);
+        verify(statusCounts, never()).add(anyLong(), any(Task.Status.class), anyLong());
+    }
+
+    @Test
+    void updateTask_statusChangeMovesTheCounters() throws Exception {
+        Task existing = new Task();
+        existing.setSprint(sprint);
+        existing.setStatus(Task.Status.TO_DO);
+        when(taskRepository.findById(11L)).thenReturn(Optional.of(existing));
+        when(taskRepository.saveAndFlush(existing)).thenReturn(existing);
+        Task patch = new Task();
+        patch.setStatus(Task.Status.DONE);
+
+        taskService.updateTaskById(11L, patch, user, null);
+
+        verify(statusCounts).add(3L, Task.Status.TO_DO, -1);
+        verify(statusCounts).add(3L, Task.Status.DONE, 1);
+        verify(eventLog).append(argThat(events -> events.size() == 1
+                && events.iterator().next().remainingDelta() == -1));
+    }
+
+    @Test
+    void updateTask_refusesStaleIfMatch() {
+        String stale = "\"" + versions.tag(ResourceVersions.Scope.SPRINT, 3L) + "\"";
+        versions.bump(ResourceVersions.Scope.SPRINT, 3L);
+
+        assertThatThrownBy(() -> taskService.updateTaskById(11L, new Task(), user, stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void updateTask_conflictLeavesTheVersionAlone() {
+        Task existing = new Task();
+        existing.setSprint(sprint);
+        when(taskRepository.findById(11L)).thenReturn(Optional.of(existing));
+        when(taskRepository.saveAndFlush(existing)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 11L));
+        String before = versions.tag(ResourceVersions.Scope.SPRINT, 3L);
+
+        Task patch = new Task();
+        patch.setTitle("new");
+        assertThatThrownBy(() -> taskService.updateTaskById(11L, patch, user, null))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(versions.tag(ResourceVersions.Scope.SPRINT, 3L)).isEqualTo(before);
+        verifyNoInteractions(changeFeed);
     }
 
     @Test
     void deleteTask_deletes() throws Exception {
-        Task existing = new Task(); existing.setSprint(sprint);
+        Task existing = new Task(); existing.setSprint(sprint); existing.setStatus(Task.Status.BLOCKED);
+        existing.setOrganizationId(1L);
         when(taskRepository.findById(11L)).thenReturn(Optional.of(existing));
-        taskService.deleteTaskById(11L, user);
+        String before = versions.tag(ResourceVersions.Scope.SPRINT, 3L);
+        taskService.deleteTaskById(11L, user, null);
         verify(taskRepository).delete(existing);
+        verify(tombstones).record(Tombstone.Type.TASK, 11L, 1L);
+        verify(statusCounts).add(3L, Task.Status.BLOCKED, -1);
+        verify(eventLog).append(argThat(events -> events.size() == 1
+                && events.iterator().next().getKind() == TaskEvent.Kind.DELETED));
+        verify(changeFeed).deleted(3L, 11L);
+        verify(ownership).evictTask(11L);
+        assertThat(versions.tag(ResourceVersions.Scope.SPRINT, 3L)).isNotEqualTo(before);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void createTasks_reportsEachItemAndSavesValidOnesTogether() throws Exception {
+        TaskService bulkService = new TaskService(taskRepository, sprintRepository, userRepository, ownership,
+                boardCache, versions, statusCounts, eventLog, changeFeed, tombstones, burndownDays, transactionManager, Validation.buildDefaultValidatorFactory().getValidator());
+        user.getOrganization().setId(1L);
+        when(userRepository.findIdsInOrganization(anyCollection(), eq(1L))).thenReturn(Set.of(8L));
+        when(taskRepository.findTitlesInSprint(eq(3L), anyCollection())).thenReturn(Set.of("Taken"));
+        when(userRepository.getReferenceById(anyLong())).thenAnswer(inv -> {
+            User u = new User(); u.setId(inv.getArgument(0)); return u;
+        });
+        when(taskRepository.saveAll(any(Collection.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        List<BulkTaskResultDto> results = bulkService.createTasks(3L, List.of(
+                request("Fresh", 2, 8L),
+                request("Taken", 2, 8L),
+                request("Other org", 2, 99L),
+                request("Fresh", 3, 8L),
+                request("Bad priority", 9, 8L),
+                request("Second", 1, 8L)), user);
+
+        assertThat(results).extracting(r -> r.created).containsExactly(true, false, false, false, false, true);
+        assertThat(results.get(1).error).isEqualTo("Task title already exists in this sprint.");
+        assertThat(results.get(2).error).isEqualTo("Assignee user at 99 not found.");
+        assertThat(results.get(3).error).isEqualTo("Task title already exists in this sprint.");
+        assertThat(results.get(4).error).isEqualTo("Priority must be between 1 and 5");
+        assertThat(results.get(5).task.title).isEqualTo("Second");
+        assertThat(results.get(5).task.status).isEqualTo(Task.Status.TO_DO);
+        verify(taskRepository).saveAll(any(Collection.class));
+        verify(statusCounts).add(3L, Map.of(Task.Status.TO_DO, 2L));
+    }
+
+    @Test
+    void createTasks_rejectsOversizedBatch() {
+        List<TaskRequest> tooMany = java.util.Collections.nCopies(TaskService.MAX_BULK_SIZE + 1, request("T", 1, 8L));
+        assertThatThrownBy(() -> taskService.createTasks(3L, tooMany, user))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void updateTasks_runsOneTenantScopedUpdate() throws Exception {
+        when(userRepository.existsById(9L)).thenReturn(true);
+        when(taskRepository.updateMatching(eq(1L), any(), eq(Task.Status.DONE), isNull(), eq(9L))).thenReturn(4);
+        when(taskRepository.findStatesMatching(any())).thenReturn(List.of(
+                new TaskStateDto(1L, Task.Status.IN_PROGRESS, 2, 8L),
+                new TaskStateDto(2L, Task.Status.IN_PROGRESS, 2, 9L),
+                new TaskStateDto(3L, Task.Status.IN_PROGRESS, 2, 9L),
+                new TaskStateDto(4L, Task.Status.DONE, 2, 8L)));
+
+        BulkTaskUpdateRequest req = new BulkTaskUpdateRequest();
+        req.filter = new BulkTaskUpdateRequest.Filter();
+        req.filter.status = Task.Status.IN_PROGRESS;
+        req.set = new BulkTaskUpdateRequest.Changes();
+        req.set.status = Task.Status.DONE;
+        req.set.assigneeId = 9L;
+
+        assertThat(taskService.updateTasks(3L, req, user, null)).isEqualTo(4);
+        verify(statusCounts).add(3L, Map.of(Task.Status.IN_PROGRESS, -3L, Task.Status.DONE, 3L));
+        // Three status changes and the two assignees that were not already 9.
+        verify(eventLog).append(argThat(events -> events.size() == 5));
+        verify(changeFeed).resync(3L);
+    }
+
+    @Test
+    void updateTasks_rejectsBadPriorityAndEmptyChanges() {
+        BulkTaskUpdateRequest req = new BulkTaskUpdateRequest();
+        req.set = new BulkTaskUpdateRequest.Changes();
+        assertThatThrownBy(() -> taskService.updateTasks(3L, req, user, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("At least one field to change is required.");
+
+        req.set.priority = 7;
+        assertThatThrownBy(() -> taskService.updateTasks(3L, req, user, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Priority must be between 1 and 5.");
+    }
+
+    private static TaskRequest request(String title, int priority, long assigneeId) {
+        TaskRequest req = new TaskRequest();
+        req.title = title;
+        req.priority = priority;
+        req.assigneeId = assigneeId;
+        return req;
     }
 }
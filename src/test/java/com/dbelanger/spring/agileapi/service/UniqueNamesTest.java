@@ -0,0 +1,95 @@
+package com.dbelanger.spring.agileapi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.dbelanger.spring.agileapi.IntegrationTest;
+import com.dbelanger.spring.agileapi.exception.GlobalExceptionHandler;
+import com.dbelanger.spring.agileapi.model.Project;
+import com.dbelanger.spring.agileapi.model.Sprint;
+import com.dbelanger.spring.agileapi.model.Task;
+import com.dbelanger.spring.agileapi.repository.TaskRepository;
+
+/// Name uniqueness comes from the database constraints alone, holds under concurrent creates, and is reported
+/// as the same 400 the pre-check queries used to give.
+class UniqueNamesTest extends IntegrationTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    private Sprint sprint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        sprint = sprint("Sprint 1");
+    }
+
+    @Test
+    void duplicateNamesAreBadRequests() throws Exception {
+        taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user);
+
+        assertBadRequest(catchThrowableOfType(
+                () -> taskService.createTask(newTask("Launch"), sprint.getId(), user.getId(), user),
+                DataIntegrityViolationException.class), "Task title already exists in this sprint.");
+        assertBadRequest(catchThrowableOfType(
+                () -> sprintService.createSprint(newSprint("Sprint 1"), project.getId(), user),
+                DataIntegrityViolationException.class), "Sprint name already exists in this project.");
+        assertBadRequest(catchThrowableOfType(
+                () -> projectService.createNewProject(new Project(0, "Apollo", null, organization), user),
+                DataIntegrityViolationException.class), "Project name already exists in this organization.");
+    }
+
+    @Test
+    void concurrentCreatesOfOneTitleInsertOnce() throws Exception {
+        int attempts = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> creates = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            creates.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                    taskService.createTask(newTask("Race"), sprint.getId(), user.getId(), user);
+                    return true;
+                } catch (DataIntegrityViolationException e) {
+                    return false;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+        start.countDown();
+
+        long created = creates.stream().filter(CompletableFuture::join).count();
+        assertThat(created).isEqualTo(1);
+        assertThat(taskRepository.findTitlesInSprint(sprint.getId(), List.of("Race"))).containsExactly("Race");
+    }
+
+    private void assertBadRequest(DataIntegrityViolationException ex, String message) {
+        ResponseEntity<Map<String, Object>> response = handler.handleIntegrityViolation(ex);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).containsEntry("message", message);
+    }
+
+    private static Sprint newSprint(String name) {
+        return new Sprint(0, name, LocalDateTime.now(), LocalDateTime.now().plusWeeks(2), null);
+    }
+
+    private static Task newTask(String title) {
+        return new Task(0, title, null, Task.Status.TO_DO, 2, null, null);
+    }
+}
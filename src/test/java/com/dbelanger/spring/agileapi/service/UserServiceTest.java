@@ -1,6 +1,7 @@
 package com.dbelanger.spring.agileapi.service;
 
 import java.nio.file.AccessDeniedException;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -12,11 +13,15 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.dbelanger.spring.agileapi.dto.CursorPage;
+import com.dbelanger.spring.agileapi.dto.UserResponseDto;
 import com.dbelanger.spring.agileapi.model.Organization;
 import com.dbelanger.spring.agileapi.model.User;
 import com.dbelanger.spring.agileapi.repository.UserRepository;
+import com.dbelanger.spring.agileapi.security.UserPrincipalCache;
 
 @ActiveProfiles("test")
 class UserServiceTest {
@@ -25,6 +30,8 @@ class UserServiceTest {
     private UserRepository userRepository;
     @Mock
     private OrganizationService organizationService;
+    @Mock
+    private UserPrincipalCache userPrincipalCache;
 
     @InjectMocks
     private UserService userService;
@@ -42,17 +49,26 @@ class UserServiceTest {
         requester.setOrganization(org);
     }
 
+    @Test
+    void getUsersByOrganizationId_returnsPage() throws Exception {
+        UserResponseDto dto = new UserResponseDto(5L, "Tester", "t@example.com", 1L);
+        when(userRepository.findPageByOrganizationId(1L, 0L, Limit.of(51))).thenReturn(List.of(dto));
+        CursorPage<UserResponseDto> page = userService.getUsersByOrganizationId(1L, requester, null, 50);
+        assertThat(page.items()).containsExactly(dto);
+        assertThat(page.nextCursor()).isNull();
+    }
+
     @Test
     void getUserById_success() throws Exception {
         User target = new User(); target.setOrganization(org); target.setId(5L);
-        when(userRepository.findById(5L)).thenReturn(Optional.of(target));
+        when(userPrincipalCache.findUser(5L)).thenReturn(Optional.of(target));
         User got = userService.getUserById(5L, requester);
         assertThat(got).isSameAs(target);
     }
 
     @Test
     void getUserById_notFound() {
-        when(userRepository.findById(5L)).thenReturn(Optional.empty());
+        when(userPrincipalCache.findUser(5L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> userService.getUserById(5L, requester)).isInstanceOf(IllegalArgumentException.class);
     }
 
@@ -64,6 +80,7 @@ class UserServiceTest {
         User patch = new User(); patch.setName("new");
         User updated = userService.updateUserById(5L, patch, requester);
         assertThat(updated.getName()).isEqualTo("new");
+        verify(userPrincipalCache).evict(5L);
     }
 
     @Test
@@ -80,5 +97,6 @@ class UserServiceTest {
         when(userRepository.findById(5L)).thenReturn(Optional.of(target));
         userService.deleteUserById(5L, requester);
         verify(userRepository).delete(target);
+        verify(userPrincipalCache).evict(5L);
     }
 }